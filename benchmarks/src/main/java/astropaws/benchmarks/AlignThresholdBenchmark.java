@@ -0,0 +1,24 @@
+package astropaws.benchmarks;
+
+import astropaws.simulation.GameSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlignThresholdBenchmark {
+
+    // Near clamp, interpolated band, far clamp
+    @Param({"80", "350", "900"})
+    public double distance;
+
+    @Benchmark
+    public double dynamicAlignThreshold() {
+        return GameSimulation.dynamicAlignThreshold(distance);
+    }
+}
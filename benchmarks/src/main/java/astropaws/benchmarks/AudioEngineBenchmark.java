@@ -0,0 +1,142 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.AudioEngine;
+import org.openjdk.jmh.annotations.*;
+import org.lwjgl.BufferUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AudioEngine parameter setters against StubAlBackend: measures the engine's
+ * own overhead (lookups, boxing, allocations), not the driver.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AudioEngineBenchmark {
+
+    private AudioEngine engine;
+    private float x;
+
+    private int cat;
+    private int beacon;
+    private int meow;
+
+    @Setup
+    public void setUp() {
+        engine = new AudioEngine(new StubAlBackend());
+        engine.init();
+
+        meow = engine.loadSound("meow", BufferUtils.createShortBuffer(16), 44100);
+        engine.loadSound("beacon", BufferUtils.createShortBuffer(16), 44100);
+        cat = engine.createSource("cat", "meow", false, 0.08f);
+        beacon = engine.createSource("beacon", "beacon", true, 0.08f);
+    }
+
+    @Benchmark
+    public void setSourcePosition() {
+        x += 0.5f;
+        engine.setSourcePosition("beacon", x, 0f, 300f);
+        engine.flush();
+    }
+
+    @Benchmark
+    public void setSourceGainAndPitch() {
+        x += 0.001f;
+        engine.setSourceGain("beacon", x);
+        engine.setSourcePitch("beacon", x);
+        engine.flush();
+    }
+
+    @Benchmark
+    public void setListenerOrientation() {
+        x += 0.001f;
+        engine.setListenerOrientation(x, 0f, -1f, 0f, 1f, 0f);
+        engine.flush();
+    }
+
+    /**
+     * A steady-state tick where nothing moved: everything is filtered out.
+     */
+    @Benchmark
+    public int unchangedTickByHandle() {
+        engine.setListenerPosition(400f, 0f, 300f);
+        engine.setListenerOrientation(0f, 0f, -1f, 0f, 1f, 0f);
+        engine.setSourcePosition(beacon, 200f, 0f, 100f);
+        engine.setSourceVelocity(beacon, 0f, 0f, 0f);
+        engine.setSourcePitch(beacon, 1.0f);
+        engine.setSourceGain(beacon, 0.1f);
+        engine.flush();
+        return engine.getAlCallsLastFrame();
+    }
+
+    @Benchmark
+    public boolean isPlaying() {
+        return engine.isPlaying("beacon");
+    }
+
+    /**
+     * The listener/source calls GameController makes on every tick with a target.
+     */
+    @Benchmark
+    public void perTickUpdate() {
+        x += 0.5f;
+
+        if (!engine.isPlaying("beacon")) {
+            engine.play("beacon");
+        }
+
+        engine.setListenerVelocity(x, 0f, 0f);
+        engine.setListenerPosition(x, 0f, 300f);
+        engine.setListenerOrientation(0f, 0f, -1f, 0f, 1f, 0f);
+
+        engine.setSourcePosition("cat", 200f, 0f, 100f);
+        engine.setSourcePosition("beacon", 200f, 0f, 100f);
+        engine.setSourceVelocity("cat", 0f, 0f, 0f);
+        engine.setSourceVelocity("beacon", 0f, 0f, 0f);
+
+        engine.setSourcePitch("beacon", 1.0f);
+        engine.setSourceGain("beacon", 0.1f);
+        engine.flush();
+    }
+
+    /**
+     * Same calls as perTickUpdate(), through source handles.
+     */
+    @Benchmark
+    public void perTickUpdateByHandle() {
+        x += 0.5f;
+
+        if (!engine.isPlaying(beacon)) {
+            engine.play(beacon);
+        }
+
+        engine.setListenerVelocity(x, 0f, 0f);
+        engine.setListenerPosition(x, 0f, 300f);
+        engine.setListenerOrientation(0f, 0f, -1f, 0f, 1f, 0f);
+
+        engine.setSourcePosition(cat, 200f, 0f, 100f);
+        engine.setSourcePosition(beacon, 200f, 0f, 100f);
+        engine.setSourceVelocity(cat, 0f, 0f, 0f);
+        engine.setSourceVelocity(beacon, 0f, 0f, 0f);
+
+        engine.setSourcePitch(beacon, 1.0f);
+        engine.setSourceGain(beacon, 0.1f);
+        engine.flush();
+    }
+
+    /**
+     * Heavy input: four overlapping one-shots in one frame, queued for the voice pool.
+     */
+    @Benchmark
+    public void oneShotBurst() {
+        engine.playOneShot(meow, 200f, 0f, 100f, 0.08f, AudioEngine.PRIORITY_LOW);
+        engine.playOneShot(meow, 210f, 0f, 100f, 0.08f, AudioEngine.PRIORITY_LOW);
+        engine.playOneShot(meow, 220f, 0f, 100f, 1.0f, AudioEngine.PRIORITY_NORMAL);
+        engine.playOneShot(meow, 230f, 0f, 100f, 1.0f, AudioEngine.PRIORITY_HIGH);
+        engine.flush();
+    }
+}
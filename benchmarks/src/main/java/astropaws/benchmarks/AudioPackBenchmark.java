@@ -0,0 +1,74 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.AudioPack;
+import astropaws.view.audio.WavLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting the four game sounds ready for upload: one WavLoader call per WAV
+ * (what startup did before) vs opening the prebuilt pack from the jar or
+ * memory-mapping it from disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AudioPackBenchmark {
+
+    private static final String[] SOUNDS = {"meow", "beacon", "whoosh", "kaching"};
+
+    private Path packFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        packFile = Files.createTempFile("astropaws", ".pack");
+        try (InputStream is = AudioPackBenchmark.class.getClassLoader().getResourceAsStream("Audio/sounds.pack")) {
+            if (is == null) {
+                throw new IllegalStateException("Audio/sounds.pack missing; build the game with mvn install");
+            }
+            Files.copy(is, packFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(packFile);
+    }
+
+    @Benchmark
+    public int wavFiles() {
+        int samples = 0;
+        for (String sound : SOUNDS) {
+            samples += WavLoader.load("Audio/" + sound + ".wav").pcm.remaining();
+        }
+        return samples;
+    }
+
+    @Benchmark
+    public int packFromJar() {
+        AudioPack pack = AudioPack.open("Audio/sounds.pack");
+        int samples = 0;
+        for (String sound : SOUNDS) {
+            samples += pack.get(sound).pcm.remaining();
+        }
+        return samples;
+    }
+
+    @Benchmark
+    public int packMapped() throws Exception {
+        AudioPack pack = AudioPack.open(packFile);
+        int samples = 0;
+        for (String sound : SOUNDS) {
+            samples += pack.get(sound).pcm.remaining();
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,59 @@
+package astropaws.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a synthetic 16-bit mono WAV (a quiet sine) of the given length to a
+ * temp file, so loaders can be compared on something larger than the bundled cues.
+ */
+final class LargeWavFile {
+
+    static final int SAMPLE_RATE = 48_000;
+
+    private LargeWavFile() {
+    }
+
+    static Path create(int seconds) {
+        int samples = seconds * SAMPLE_RATE;
+        int dataBytes = samples * 2;
+
+        try {
+            Path file = Files.createTempFile("astropaws-large", ".wav");
+            file.toFile().deleteOnExit();
+
+            ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0x46464952).putInt(36 + dataBytes).putInt(0x45564157)       // RIFF....WAVE
+                    .putInt(0x20746D66).putInt(16)                                    // "fmt "
+                    .putShort((short) 1).putShort((short) 1)                          // PCM, mono
+                    .putInt(SAMPLE_RATE).putInt(SAMPLE_RATE * 2)
+                    .putShort((short) 2).putShort((short) 16)
+                    .putInt(0x61746164).putInt(dataBytes)                             // "data"
+                    .flip();
+
+            ByteBuffer data = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(header);
+                for (int i = 0; i < samples; i++) {
+                    if (!data.hasRemaining()) {
+                        data.flip();
+                        channel.write(data);
+                        data.clear();
+                    }
+                    data.putShort((short) (8000 * Math.sin(i * 2.0 * Math.PI * 440.0 / SAMPLE_RATE)));
+                }
+                data.flip();
+                channel.write(data);
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.WavLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a long 16-bit mono WAV from disk: memory-mapped WavLoader vs
+ * LegacyWavLoader (stream, readAllBytes, copy to a direct buffer).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LargeWavLoaderBenchmark {
+
+    @Param({"60"})
+    public int seconds;
+
+    private Path file;
+
+    @Setup
+    public void setUp() {
+        file = LargeWavFile.create(seconds);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int load() {
+        // Touch the samples so a lazily mapped file is actually read
+        return sum(WavLoader.load(file));
+    }
+
+    @Benchmark
+    public int loadLegacy() {
+        return sum(LegacyWavLoader.load(file));
+    }
+
+    private static int sum(WavLoader.WavData data) {
+        int s = 0;
+        for (int i = 0, n = data.pcm.limit(); i < n; i += 512) {
+            s += data.pcm.get(i);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,76 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.WavLoader;
+import org.lwjgl.BufferUtils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The WAV loader as it was before the chunk-walking rewrite (fixed 44-byte
+ * header, 16-bit mono only, readAllBytes then a copy into a direct buffer),
+ * kept only as the baseline for WavLoaderBenchmark and WavLoadMemoryReport.
+ */
+public final class LegacyWavLoader {
+
+    private LegacyWavLoader() {
+    }
+
+    public static WavLoader.WavData load(String path) {
+        try (InputStream is = LegacyWavLoader.class.getClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                throw new RuntimeException("Audio file not found: " + path);
+            }
+            return read(is);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load audio: " + path, e);
+        }
+    }
+
+    public static WavLoader.WavData load(Path file) {
+        try (InputStream is = Files.newInputStream(file)) {
+            return read(is);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load audio: " + file, e);
+        }
+    }
+
+    private static WavLoader.WavData read(InputStream is) throws IOException {
+        BufferedInputStream bis = new BufferedInputStream(is);
+
+        byte[] header = bis.readNBytes(44);
+        ByteBuffer headerBuf = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+
+        // WAV header checks
+        if (headerBuf.getInt(0) != 0x46464952) { // "RIFF"
+            throw new RuntimeException("Not a valid WAV file");
+        }
+
+        int channels = headerBuf.getShort(22);
+        int sampleRate = headerBuf.getInt(24);
+        int bitsPerSample = headerBuf.getShort(34);
+
+        if (channels != 1 || bitsPerSample != 16) {
+            throw new RuntimeException(
+                    "Only 16-bit MONO WAV supported. Found: "
+                            + channels + " channels, "
+                            + bitsPerSample + " bits");
+        }
+
+        byte[] audioBytes = bis.readAllBytes();
+        ByteBuffer audioBuffer = BufferUtils.createByteBuffer(audioBytes.length);
+        audioBuffer.put(audioBytes).flip();
+
+        ShortBuffer pcm = audioBuffer
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asShortBuffer();
+
+        return new WavLoader.WavData(pcm, sampleRate);
+    }
+}
@@ -0,0 +1,58 @@
+package astropaws.benchmarks;
+
+import astropaws.view.AssetRegistry;
+import astropaws.view.RenderSnapshot;
+import astropaws.view.SceneRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full composited frame into an offscreen image, with the debug layer on and off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SceneRendererBenchmark {
+
+    @Param({"true", "false"})
+    public boolean debug;
+
+    private SceneRenderer renderer;
+    private BufferedImage frame;
+    private Graphics2D g;
+    private RenderSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        AssetRegistry.preloadAll();
+        renderer = new SceneRenderer();
+        renderer.getDebugLayer().setVisible(debug);
+
+        frame = AssetRegistry.createCompatibleImage(800, 600, Transparency.OPAQUE);
+        g = frame.createGraphics();
+        snapshot = new RenderSnapshot(
+                400, 300, -Math.PI,
+                405, 300, -Math.PI + 0.03,
+                true, 120, 140,
+                152, 172, 0.4,
+                0, 1
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage renderFrame() {
+        renderer.render(g, snapshot, 0.5);
+        return frame;
+    }
+}
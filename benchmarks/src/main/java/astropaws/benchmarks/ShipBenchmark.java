@@ -0,0 +1,60 @@
+package astropaws.benchmarks;
+
+import astropaws.model.Ship;
+import astropaws.model.Vector2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ShipBenchmark {
+
+    private Ship ship;
+    private final Vector2D out = new Vector2D();
+
+    @Setup
+    public void setUp() {
+        ship = new Ship(400, 300);
+    }
+
+    @Benchmark
+    public Vector2D forwardVector() {
+        return ship.getForwardVector();
+    }
+
+    @Benchmark
+    public Vector2D forwardVectorWhileRotating() {
+        ship.rotateRight();
+        return ship.getForwardVector();
+    }
+
+    @Benchmark
+    public Vector2D forwardVectorInto() {
+        return ship.getForwardVector(out);
+    }
+
+    @Benchmark
+    public double forwardXYWhileRotating() {
+        ship.rotateRight();
+        return ship.getForwardX() + ship.getForwardY();
+    }
+
+    @Benchmark
+    public Vector2D thrustAndUpdate() {
+        ship.rotateLeft(0.25);
+        ship.thrust();
+        ship.update(800, 600);
+        return ship.getPosition();
+    }
+
+    @Benchmark
+    public Vector2D updateCoasting() {
+        ship.update(800, 600);
+        return ship.getPosition();
+    }
+}
@@ -0,0 +1,70 @@
+package astropaws.benchmarks;
+
+import astropaws.view.AssetRegistry;
+import astropaws.view.RotationAtlas;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing the rotating ship: translate + rotate + filtered drawImage (the old
+ * Ship.render() path) against a blit from a pre-rotated RotationAtlas.
+ * See ShipAtlasQualityReport for the image difference between the two.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ShipRotationBenchmark {
+
+    @Param({"128", "256"})
+    public int steps;
+
+    private BufferedImage frame;
+    private Graphics2D g;
+    private BufferedImage ship;
+    private RotationAtlas atlas;
+    private double angle;
+
+    @Setup
+    public void setUp() {
+        frame = AssetRegistry.createCompatibleImage(800, 600, Transparency.OPAQUE);
+        g = frame.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        ship = AssetRegistry.get(AssetRegistry.Sprite.SHIP);
+        atlas = new RotationAtlas(ship, steps);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage transform() {
+        angle += 0.03;
+
+        AffineTransform old = g.getTransform();
+        g.translate(400.0, 300.0);
+        g.rotate(angle);
+        g.drawImage(ship, -ship.getWidth() / 2, -ship.getHeight() / 2, null);
+        g.setTransform(old);
+        return frame;
+    }
+
+    @Benchmark
+    public BufferedImage atlas() {
+        angle += 0.03;
+
+        int half = atlas.getSize() / 2;
+        g.drawImage(atlas.frameFor(angle), 400 - half, 300 - half, null);
+        return frame;
+    }
+}
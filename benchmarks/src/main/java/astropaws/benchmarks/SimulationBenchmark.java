@@ -0,0 +1,50 @@
+package astropaws.benchmarks;
+
+import astropaws.simulation.Autopilot;
+import astropaws.simulation.FrameResult;
+import astropaws.simulation.GameSimulation;
+import astropaws.simulation.InputState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full simulation tick (the work GameLoop.update() does minus the AL calls),
+ * with the autopilot producing realistic input: rotating, thrusting, capturing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SimulationBenchmark {
+
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+
+    private GameSimulation simulation;
+    private Autopilot autopilot;
+    private InputState input;
+    private FrameResult frame;
+
+    @Setup
+    public void setUp() {
+        simulation = new GameSimulation(800, 600);
+        autopilot = new Autopilot(simulation);
+        input = new InputState();
+        frame = simulation.step(input, TICK_NANOS);
+    }
+
+    @Benchmark
+    public FrameResult tick() {
+        autopilot.fill(input, frame);
+        frame = simulation.step(input, TICK_NANOS);
+        return frame;
+    }
+
+    @Benchmark
+    public FrameResult tickIdleInput() {
+        input.clear();
+        return simulation.step(input, TICK_NANOS);
+    }
+}
@@ -0,0 +1,93 @@
+package astropaws.benchmarks;
+
+import astropaws.model.AnimalSpawner;
+import astropaws.time.TimingWheel;
+import astropaws.view.AssetRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawn cost and per-frame sprite blits: decoded PNGs scaled on every draw
+ * (the old path) against AssetRegistry's pre-scaled images drawn 1:1.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SpriteBenchmark {
+
+    private BufferedImage frame;
+    private Graphics2D g;
+
+    private BufferedImage rawBackground;
+    private BufferedImage rawCat;
+
+    private AnimalSpawner spawner;
+    private long now;
+
+    @Setup
+    public void setUp() throws IOException {
+        frame = AssetRegistry.createCompatibleImage(800, 600, Transparency.OPAQUE);
+        g = frame.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        rawBackground = read("/images/Space.png");
+        rawCat = read("/images/Cat.png");
+        AssetRegistry.preloadAll();
+
+        spawner = new AnimalSpawner(800, 600, 1, 0, AnimalSpawner.DEFAULT_LIFETIME_MS, 1L, new TimingWheel());
+    }
+
+    @TearDown
+    public void tearDown() {
+        g.dispose();
+    }
+
+    private static BufferedImage read(String path) throws IOException {
+        try (InputStream is = SpriteBenchmark.class.getResourceAsStream(path)) {
+            return ImageIO.read(is);
+        }
+    }
+
+    @Benchmark
+    public Object spawnCatDecoding() throws IOException {
+        // What Cat's constructor used to do on every spawn
+        return read("/images/Cat.png");
+    }
+
+    // A pooled spawn and despawn; the sprite is the shared pre-scaled image
+    @Benchmark
+    public Object spawnCatShared() {
+        spawner.update(++now);
+        spawner.despawn(spawner.getSlot(0));
+        return AssetRegistry.get(AssetRegistry.Sprite.CAT);
+    }
+
+    @Benchmark
+    public boolean backgroundScaled() {
+        return g.drawImage(rawBackground, 0, 0, 800, 600, null);
+    }
+
+    @Benchmark
+    public boolean backgroundPrescaled() {
+        return g.drawImage(AssetRegistry.get(AssetRegistry.Sprite.BACKGROUND), 0, 0, null);
+    }
+
+    @Benchmark
+    public boolean catScaled() {
+        return g.drawImage(rawCat, 100, 100, 64, 64, null);
+    }
+
+    @Benchmark
+    public boolean catPrescaled() {
+        return g.drawImage(AssetRegistry.get(AssetRegistry.Sprite.CAT), 100, 100, null);
+    }
+}
@@ -0,0 +1,141 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.AlBackend;
+
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.openal.AL10.AL_SOURCE_STATE;
+import static org.lwjgl.openal.AL10.AL_STOPPED;
+
+/**
+ * AlBackend that only counts calls, so AudioEngine overhead can be measured
+ * without a sound device or native library.
+ */
+public class StubAlBackend implements AlBackend {
+
+    private int nextName = 1;
+    private long calls;
+
+    public long getCalls() {
+        return calls;
+    }
+
+    @Override
+    public void open() {
+        calls++;
+    }
+
+    @Override
+    public void close() {
+        calls++;
+    }
+
+    @Override
+    public void distanceModel(int model) {
+        calls++;
+    }
+
+    @Override
+    public void dopplerFactor(float factor) {
+        calls++;
+    }
+
+    @Override
+    public void speedOfSound(float speed) {
+        calls++;
+    }
+
+    @Override
+    public void suspendContext() {
+        calls++;
+    }
+
+    @Override
+    public void processContext() {
+        calls++;
+    }
+
+    @Override
+    public void listener3f(int param, float x, float y, float z) {
+        calls++;
+    }
+
+    @Override
+    public void listenerfv(int param, float[] values) {
+        calls++;
+    }
+
+    @Override
+    public int genBuffer() {
+        calls++;
+        return nextName++;
+    }
+
+    @Override
+    public void bufferData(int buffer, int format, ShortBuffer data, int sampleRate) {
+        calls++;
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        calls++;
+    }
+
+    @Override
+    public int genSource() {
+        calls++;
+        return nextName++;
+    }
+
+    @Override
+    public void deleteSource(int source) {
+        calls++;
+    }
+
+    @Override
+    public void sourcei(int source, int param, int value) {
+        calls++;
+    }
+
+    @Override
+    public void sourcef(int source, int param, float value) {
+        calls++;
+    }
+
+    @Override
+    public void source3f(int source, int param, float x, float y, float z) {
+        calls++;
+    }
+
+    @Override
+    public int getSourcei(int source, int param) {
+        calls++;
+        return param == AL_SOURCE_STATE ? AL_STOPPED : 0;
+    }
+
+    @Override
+    public void sourcePlay(int source) {
+        calls++;
+    }
+
+    @Override
+    public void sourceStop(int source) {
+        calls++;
+    }
+
+    @Override
+    public void sourceRewind(int source) {
+        calls++;
+    }
+
+    @Override
+    public void sourceQueueBuffers(int source, int buffer) {
+        calls++;
+    }
+
+    @Override
+    public int sourceUnqueueBuffers(int source) {
+        calls++;
+        return 0;
+    }
+}
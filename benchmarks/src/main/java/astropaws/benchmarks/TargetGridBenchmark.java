@@ -0,0 +1,203 @@
+package astropaws.benchmarks;
+
+import astropaws.model.TargetGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * TargetGrid queries against a linear scan over the same targets, on the
+ * 800x600 wrapping screen: nearest, 8-nearest, capture radius (200 px) and
+ * forward cone with the simulation's dynamic alignment threshold. Query
+ * points cycle through a fixed random set. move() is the incremental update
+ * for one target per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TargetGridBenchmark {
+
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 600;
+    private static final double CAPTURE_RADIUS = 200;
+    private static final int K = 8;
+    private static final int QUERIES = 1024;
+
+    // Same as GameSimulation.dynamicAlignThreshold
+    private static final DoubleUnaryOperator ALIGN_THRESHOLD = d -> {
+        if (d <= 120.0) return 0.970;
+        if (d >= 600.0) return 0.995;
+        return 0.970 + (0.995 - 0.970) * ((d - 120.0) / 480.0);
+    };
+
+    @Param({"10", "1000", "100000"})
+    public int targets;
+
+    private TargetGrid grid;
+    private double[] x;
+    private double[] y;
+
+    private double[] qx;
+    private double[] qy;
+    private double[] qfx;
+    private double[] qfy;
+    private int query;
+
+    private int[] out;
+    private double[] bestScratch;
+    private Random moves;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+
+        // Cell size as AnimalSpawner picks it
+        grid = new TargetGrid(WIDTH, HEIGHT, TargetGrid.cellSizeFor(WIDTH, HEIGHT, targets, 2.0, 8.0, 200.0), targets);
+        x = new double[targets];
+        y = new double[targets];
+        for (int i = 0; i < targets; i++) {
+            x[i] = random.nextDouble() * WIDTH;
+            y[i] = random.nextDouble() * HEIGHT;
+            grid.insert(i, x[i], y[i]);
+        }
+
+        qx = new double[QUERIES];
+        qy = new double[QUERIES];
+        qfx = new double[QUERIES];
+        qfy = new double[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            qx[i] = random.nextDouble() * WIDTH;
+            qy[i] = random.nextDouble() * HEIGHT;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            qfx[i] = Math.cos(angle);
+            qfy[i] = Math.sin(angle);
+        }
+
+        out = new int[targets];
+        bestScratch = new double[K];
+        moves = new Random(11);
+    }
+
+    private int nextQuery() {
+        query = (query + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    public int nearestGrid() {
+        int q = nextQuery();
+        return grid.nearest(qx[q], qy[q]);
+    }
+
+    @Benchmark
+    public int nearestLinear() {
+        int q = nextQuery();
+        double px = qx[q];
+        double py = qy[q];
+        int best = -1;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < targets; i++) {
+            double d = distSq(i, px, py);
+            if (d < bestSq) {
+                bestSq = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int kNearestGrid() {
+        int q = nextQuery();
+        return grid.kNearest(qx[q], qy[q], K, out);
+    }
+
+    @Benchmark
+    public int kNearestLinear() {
+        int q = nextQuery();
+        double px = qx[q];
+        double py = qy[q];
+        int found = 0;
+        for (int i = 0; i < targets; i++) {
+            double d = distSq(i, px, py);
+            if (found == K && d >= bestScratch[K - 1]) continue;
+
+            int j = found < K ? found++ : K - 1;
+            while (j > 0 && bestScratch[j - 1] > d) {
+                bestScratch[j] = bestScratch[j - 1];
+                out[j] = out[j - 1];
+                j--;
+            }
+            bestScratch[j] = d;
+            out[j] = i;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int radiusGrid() {
+        int q = nextQuery();
+        return grid.withinRadius(qx[q], qy[q], CAPTURE_RADIUS, out);
+    }
+
+    @Benchmark
+    public int radiusLinear() {
+        int q = nextQuery();
+        double px = qx[q];
+        double py = qy[q];
+        double radiusSq = CAPTURE_RADIUS * CAPTURE_RADIUS;
+        int found = 0;
+        for (int i = 0; i < targets; i++) {
+            if (distSq(i, px, py) <= radiusSq) {
+                out[found++] = i;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int coneGrid() {
+        int q = nextQuery();
+        return grid.inCone(qx[q], qy[q], qfx[q], qfy[q], CAPTURE_RADIUS, ALIGN_THRESHOLD, out);
+    }
+
+    @Benchmark
+    public int coneLinear() {
+        int q = nextQuery();
+        double px = qx[q];
+        double py = qy[q];
+        double radiusSq = CAPTURE_RADIUS * CAPTURE_RADIUS;
+        int found = 0;
+        for (int i = 0; i < targets; i++) {
+            double dx = grid.wrapX(x[i] - px);
+            double dy = grid.wrapY(y[i] - py);
+            double dSq = dx * dx + dy * dy;
+            if (dSq > radiusSq) continue;
+            double d = Math.sqrt(dSq);
+            double dot = d > 0.0 ? (qfx[q] * dx + qfy[q] * dy) / d : 0.0;
+            if (dot > ALIGN_THRESHOLD.applyAsDouble(d)) {
+                out[found++] = i;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void move() {
+        int i = moves.nextInt(targets);
+        x[i] = moves.nextDouble() * WIDTH;
+        y[i] = moves.nextDouble() * HEIGHT;
+        grid.move(i, x[i], y[i]);
+    }
+
+    private double distSq(int i, double px, double py) {
+        double dx = grid.wrapX(x[i] - px);
+        double dy = grid.wrapY(y[i] - py);
+        return dx * dx + dy * dy;
+    }
+}
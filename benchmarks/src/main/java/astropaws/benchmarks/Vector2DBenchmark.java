@@ -0,0 +1,80 @@
+package astropaws.benchmarks;
+
+import astropaws.model.Vector2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Vector2DBenchmark {
+
+    private Vector2D a;
+    private Vector2D b;
+    private final Vector2D out = new Vector2D();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        a = new Vector2D(3.0, 4.0);
+        b = new Vector2D(0.5, -0.25);
+    }
+
+    @Benchmark
+    public Vector2D add() {
+        a.add(b);
+        return a;
+    }
+
+    @Benchmark
+    public Vector2D multiply() {
+        a.multiply(1.0000001);
+        return a;
+    }
+
+    @Benchmark
+    public double magnitude() {
+        return a.magnitude();
+    }
+
+    @Benchmark
+    public Vector2D normalize() {
+        a.x = 3.0;
+        a.y = 4.0;
+        a.normalize();
+        return a;
+    }
+
+    @Benchmark
+    public Vector2D normalized() {
+        return a.normalized();
+    }
+
+    @Benchmark
+    public Vector2D normalizedInto() {
+        return a.normalized(out);
+    }
+
+    @Benchmark
+    public double dot() {
+        return a.dot(b);
+    }
+
+    @Benchmark
+    public double distanceSquared() {
+        return a.distanceSquared(b);
+    }
+
+    @Benchmark
+    public Vector2D copyInto() {
+        return out.set(a);
+    }
+
+    @Benchmark
+    public Vector2D copy() {
+        return a.copy();
+    }
+}
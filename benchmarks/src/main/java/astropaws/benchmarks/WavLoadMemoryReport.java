@@ -0,0 +1,54 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.WavLoader;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * Prints the memory one load costs: heap bytes allocated by the loading
+ * thread, and the native (direct or mapped) bytes behind the returned samples.
+ * The legacy loader holds its heap copy and its direct copy at the same time,
+ * so its peak is roughly the sum of the two.
+ *
+ * Run: java -cp benchmarks/target/benchmarks.jar astropaws.benchmarks.WavLoadMemoryReport
+ */
+public class WavLoadMemoryReport {
+
+    public static void main(String[] args) throws Exception {
+        Path large = LargeWavFile.create(60);
+        try {
+            System.out.printf("%-28s %-8s %14s %14s  %s%n", "file", "loader", "heap alloc", "native", "samples");
+
+            for (String path : new String[]{"Audio/meow.wav", "Audio/kaching.wav"}) {
+                report(path, "legacy", () -> LegacyWavLoader.load(path));
+                report(path, "new", () -> WavLoader.load(path));
+            }
+            report("60 s on disk (" + Files.size(large) / 1024 + " KB)", "legacy", () -> LegacyWavLoader.load(large));
+            report("60 s on disk (" + Files.size(large) / 1024 + " KB)", "new", () -> WavLoader.load(large));
+        } finally {
+            Files.deleteIfExists(large);
+        }
+    }
+
+    private static void report(String name, String loader, Supplier<WavLoader.WavData> load) {
+        // Warm up class loading so it isn't counted
+        load.get();
+        System.gc();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        long heapBefore = threads.getThreadAllocatedBytes(tid);
+        WavLoader.WavData data = load.get();
+        long heap = threads.getThreadAllocatedBytes(tid) - heapBefore;
+
+        long nativeBytes = data.pcm.isDirect() ? data.pcm.capacity() * 2L : 0;
+
+        System.out.printf("%-28s %-8s %14d %14d  %d%n",
+                name, loader, heap, nativeBytes, data.pcm.remaining());
+    }
+}
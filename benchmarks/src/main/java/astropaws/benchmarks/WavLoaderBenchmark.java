@@ -0,0 +1,32 @@
+package astropaws.benchmarks;
+
+import astropaws.view.audio.WavLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WavLoader against the old loader (LegacyWavLoader) on the bundled sounds,
+ * which are read from inside the game jar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WavLoaderBenchmark {
+
+    @Param({"Audio/meow.wav", "Audio/beacon.wav", "Audio/whoosh.wav", "Audio/kaching.wav"})
+    public String path;
+
+    @Benchmark
+    public WavLoader.WavData load() {
+        return WavLoader.load(path);
+    }
+
+    @Benchmark
+    public WavLoader.WavData loadLegacy() {
+        return LegacyWavLoader.load(path);
+    }
+}
@@ -1,357 +1,470 @@
 package astropaws;
 
 import astropaws.controller.InputHandler;
+import astropaws.diagnostics.FrameTiming;
+import astropaws.diagnostics.PhaseTimer;
+import astropaws.diagnostics.TickEvent;
 import astropaws.model.AnimalSpawner;
-import astropaws.model.AudioBeacon;
-import astropaws.model.Cat;
 import astropaws.model.Ship;
-import astropaws.model.Vector2D;
+import astropaws.model.TargetGrid;
+import astropaws.simulation.AudioCue;
+import astropaws.simulation.FrameResult;
+import astropaws.simulation.GameSimulation;
+import astropaws.simulation.InputRecorder;
+import astropaws.simulation.InputState;
+import astropaws.simulation.ScoreEvent;
+import astropaws.time.GameClock;
+import astropaws.time.ScaledClock;
 import astropaws.view.GamePanel;
+import astropaws.view.GameView;
+import astropaws.view.RenderSnapshot;
+import astropaws.view.SnapshotExchange;
 import astropaws.view.audio.AudioEngine;
-import astropaws.view.audio.WavLoader;
+import astropaws.view.audio.VirtualSourceBank;
 
-public class GameController {
-
-    // Capture tuning
-    private static final double CAPTURE_DISTANCE_PX = 200.0;
-    private static final long CAPTURE_COOLDOWN_MS = 400;
-    private static final long KACHING_DELAY_MS = 200;
-
-    // Sticky precision rotation
-    private static final double STICKY_ROTATION_MULTIPLIER = 0.25;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
 
-    // Distance-adaptive alignment thresholds:
-    // Far away = strict, close = forgiving
-    private static final double ALIGN_DOT_FAR = 0.995;
-    private static final double ALIGN_DOT_NEAR = 0.970;
-    private static final double ALIGN_NEAR_DIST = 120.0;
-    private static final double ALIGN_FAR_DIST = 600.0;
-
-    // Range feedback tuning
-    private static final float RANGE_BOOST_PITCH = 1.12f;
-    private static final float RANGE_BOOST_GAIN = 1.35f;
-    private static final long RANGE_PULSE_PERIOD_MS = 650;
-    private static final float RANGE_PULSE_DEPTH = 0.35f;
+public class GameController {
 
-    private final GamePanel gamePanel;
+    private final GameView view;
     private final Ship ship;
     private final InputHandler inputHandler;
     private final GameLoop gameLoop;
 
-    private double lastAngle = 0.0;
-    private double rotationAccumulator = 0.0;
-
-    private Vector2D lastShipPos = null;
-    private long lastVelTimeMs = 0;
+    // The loop's only source of time, overridable with -Dastropaws.timeScale
+    private final GameClock clock;
 
     private final AudioEngine audioEngine;
-    private final AnimalSpawner spawner;
 
-    private boolean prevShootPressed = false;
-    private long lastCaptureAttemptMs = 0;
-    private long pendingKachingAtMs = -1;
+    // Real sources shared by the per-target beacons, overridable with -Dastropaws.beaconVoices
+    private static final int DEFAULT_BEACON_VOICES = 8;
 
-    private int score = 0;
+    // A beacon gaining or losing its real source fades over this long instead of clicking
+    private static final long BEACON_FADE_MS = 80;
 
-    // Range state for one-time cue
-    private boolean wasInRangeLastFrame = false;
+    // One virtual beacon per target; only the most audible are really playing
+    private final VirtualSourceBank beacons;
 
-    public GameController() {
-        audioEngine = new AudioEngine();
-        audioEngine.init();
+    // Buffer handles, so the per-tick calls skip the id lookup
+    private final int meowBuffer;
+    private final int whooshBuffer;
+    private final int kachingBuffer;
+    private final GameSimulation simulation;
+    private final InputState inputState = new InputState();
 
-        WavLoader.WavData meow = WavLoader.load("Audio/meow.wav");
-        audioEngine.loadSound("meow", meow.pcm, meow.sampleRate);
+    // Every tick's input, with -Dastropaws.record=<file>; replay with ReplayMain
+    private final InputRecorder recorder;
 
-        WavLoader.WavData beacon = WavLoader.load("Audio/beacon.wav");
-        audioEngine.loadSound("beacon", beacon.pcm, beacon.sampleRate);
+    // Per-phase tick and paint times, over JMX and in the F4 overlay
+    private final FrameTiming frameTiming = new FrameTiming();
+    private final PhaseTimer inputTimer = frameTiming.get(FrameTiming.Phase.INPUT);
+    private final PhaseTimer spawnerTimer = frameTiming.get(FrameTiming.Phase.SPAWNER);
+    private final PhaseTimer physicsTimer = frameTiming.get(FrameTiming.Phase.PHYSICS);
+    private final PhaseTimer audioTimer = frameTiming.get(FrameTiming.Phase.AUDIO);
 
-        WavLoader.WavData whoosh = WavLoader.load("Audio/whoosh.wav");
-        audioEngine.loadSound("whoosh", whoosh.pcm, whoosh.sampleRate);
+    // Drops the loop into low-power mode while the window is in the background
+    private volatile boolean windowFocused = true;
 
-        WavLoader.WavData kaching = WavLoader.load("Audio/kaching.wav");
-        audioEngine.loadSound("kaching", kaching.pcm, kaching.sampleRate);
+    private Runnable firstFrameListener;
 
-        audioEngine.createSource("cat", "meow", false, 0.08f);
-        audioEngine.setLooping("cat", false);
+    /**
+     * Wires an initialised audio engine, with the meow/beacon/whoosh/kaching
+     * buffers already loaded, to a view. StartupPipeline prepares both in parallel.
+     */
+    public GameController(AudioEngine audioEngine, GameView view) {
+        this(audioEngine, view, defaultClock());
+    }
 
-        audioEngine.createSource("beacon", "beacon", true, 0.08f);
-        audioEngine.setLooping("beacon", true);
+    /**
+     * As above, with the game running on clock instead of real time.
+     */
+    public GameController(AudioEngine audioEngine, GameView view, GameClock clock) {
+        this.audioEngine = audioEngine;
+        this.view = view;
+        this.clock = clock;
+        view.setClock(clock);
+
+        meowBuffer = audioEngine.getBuffer("meow");
+        whooshBuffer = audioEngine.getBuffer("whoosh");
+        kachingBuffer = audioEngine.getBuffer("kaching");
+
+        simulation = new GameSimulation(GamePanel.WIDTH, GamePanel.HEIGHT);
+        ship = simulation.getShip();
+        recorder = openRecorder(simulation);
+
+        simulation.setSpawnerTimer(spawnerTimer);
+        view.getRenderer().setFrameTiming(frameTiming);
+        frameTiming.registerMBeans();
+
+        // Meow, whoosh and kaching are one-shots on pooled voices, so repeats overlap;
+        // beacons are virtual sources keyed by target slot
+        beacons = new VirtualSourceBank(audioEngine, audioEngine.getBuffer("beacon"),
+                Integer.getInteger("astropaws.beaconVoices", DEFAULT_BEACON_VOICES),
+                simulation.getSpawner().getMaxTargets(), BEACON_FADE_MS);
 
-        audioEngine.createSource("whoosh", "whoosh", false, 1.0f);
-        audioEngine.setLooping("whoosh", false);
+        inputHandler = new InputHandler();
+        view.getComponent().addKeyListener(inputHandler);
+        view.getComponent().addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                windowFocused = true;
+            }
 
-        audioEngine.createSource("kaching", "kaching", false, 1.0f);
-        audioEngine.setLooping("kaching", false);
+            @Override
+            public void focusLost(FocusEvent e) {
+                windowFocused = false;
+            }
+        });
 
-        gamePanel = new GamePanel();
+        gameLoop = new GameLoop();
+    }
 
-        ship = new Ship(GamePanel.WIDTH / 2.0, GamePanel.HEIGHT / 2.0);
-        gamePanel.setShip(ship);
+    /**
+     * Called once on the loop thread, right after the first simulated frame is
+     * handed to the view. Set before start().
+     */
+    public void setFirstFrameListener(Runnable listener) {
+        firstFrameListener = listener;
+    }
 
-        spawner = new AnimalSpawner(GamePanel.WIDTH, GamePanel.HEIGHT);
+    // Call once the view is in a visible window
+    public void start() {
+        view.start();
+        gameLoop.start();
+    }
 
-        inputHandler = new InputHandler();
-        gamePanel.addKeyListener(inputHandler);
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+        }
+        gameLoop.tickRate = ticksPerSecond;
+    }
 
-        gameLoop = new GameLoop();
+    public GameView getView() {
+        return view;
     }
 
-    public void start() {
-        gameLoop.start();
+    public GameClock getClock() {
+        return clock;
     }
 
-    public GamePanel getGamePanel() {
-        return gamePanel;
+    public FrameTiming getFrameTiming() {
+        return frameTiming;
     }
 
-    private static double dynamicAlignThreshold(double distancePx) {
-        if (distancePx <= ALIGN_NEAR_DIST) return ALIGN_DOT_NEAR;
-        if (distancePx >= ALIGN_FAR_DIST) return ALIGN_DOT_FAR;
+    private static InputRecorder openRecorder(GameSimulation simulation) {
+        String path = System.getProperty("astropaws.record");
+        if (path == null) return null;
+
+        try {
+            InputRecorder recorder = new InputRecorder(Path.of(path), simulation);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                    System.out.println("Recorded " + recorder.getTicks() + " ticks to " + recorder.getFile());
+                } catch (IOException e) {
+                    System.err.println("Failed to finish recording " + recorder.getFile() + ": " + e);
+                }
+            }, "RecorderShutdown"));
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("Input recording disabled, can't open " + path + ": " + e);
+            return null;
+        }
+    }
 
-        double t = (distancePx - ALIGN_NEAR_DIST) / (ALIGN_FAR_DIST - ALIGN_NEAR_DIST); // 0..1
-        return ALIGN_DOT_NEAR + (ALIGN_DOT_FAR - ALIGN_DOT_NEAR) * t;
+    // Real time, or scaled by -Dastropaws.timeScale (e.g. 0.25 slow motion, 4 fast forward)
+    private static GameClock defaultClock() {
+        double scale = Double.parseDouble(System.getProperty("astropaws.timeScale", "1"));
+        return scale == 1.0 ? GameClock.realtime() : new ScaledClock(GameClock.realtime(), scale);
     }
 
     private class GameLoop extends Thread {
 
-        private static final int FPS = 60;
-        private static final long FRAME_TIME_MS = 1000L / FPS;
+        private static final long NANOS_PER_SECOND = 1_000_000_000L;
+        private static final int DEFAULT_TICK_RATE = 60;
+
+        // Wakeups (and presented frames) per second while the window is unfocused;
+        // the simulation keeps its tick rate and runs the ticks in between as a batch
+        private static final int LOW_POWER_WAKE_RATE = 15;
+
+        // After a stall, run at most this many ticks before presenting a frame
+        private static final int MAX_TICKS_PER_FRAME = 5;
+
+        private static final long STATS_PERIOD_NANOS = 5 * NANOS_PER_SECOND;
 
+        private volatile int tickRate = Integer.getInteger("astropaws.tickRate", DEFAULT_TICK_RATE);
+        private final boolean logStats = Boolean.getBoolean("astropaws.loopStats");
+        private final LoopStats stats = new LoopStats();
+
+        // Ticks run so far, for the JFR tick events
+        private long tickIndex;
+
+        GameLoop() {
+            super("GameLoop");
+        }
+
+        // Everything below is in game time: one clock reading per iteration
+        // drives the accumulator, the stats and the snapshot timestamps
         @Override
         public void run() {
-            long lastTime = System.currentTimeMillis();
+            long previous = clock.nanoTime();
+            long deadline = previous;
+            long accumulator = 0;
+            stats.reset(previous);
+
+            while (!isInterrupted()) {
+                long tickNanos = NANOS_PER_SECOND / tickRate;
+                long wakeNanos = windowFocused
+                        ? tickNanos
+                        : Math.max(tickNanos, NANOS_PER_SECOND / LOW_POWER_WAKE_RATE);
+
+                // A low-power wake is due several ticks at once; that batch isn't a stall
+                int maxTicks = MAX_TICKS_PER_FRAME + (int) (wakeNanos / tickNanos) - 1;
+
+                long now = clock.nanoTime();
+                stats.recordWakeup(now - deadline);
+                accumulator += now - previous;
+                previous = now;
+
+                int ticks = 0;
+                while (accumulator >= tickNanos && ticks < maxTicks) {
+                    update(tickNanos, now, ticks);
+                    accumulator -= tickNanos;
+                    ticks++;
+                }
 
-            while (true) {
-                long now = System.currentTimeMillis();
+                // Still behind after the catch-up cap: drop the backlog instead of spiralling
+                long dropped = 0;
+                if (accumulator >= tickNanos) {
+                    dropped = accumulator / tickNanos;
+                    accumulator -= dropped * tickNanos;
+                }
+
+                if (ticks > 0) {
+                    stats.recordFrame(ticks, dropped);
+                    view.present(accumulator / (double) tickNanos);
 
-                if (now - lastTime >= FRAME_TIME_MS) {
-                    update();
-                    gamePanel.repaint();
-                    lastTime = now;
+                    if (firstFrameListener != null) {
+                        firstFrameListener.run();
+                        firstFrameListener = null;
+                    }
                 }
 
-                try {
-                    Thread.sleep(1);
-                } catch (InterruptedException ignored) {}
+                if (logStats && stats.getWindowNanos(now) >= STATS_PERIOD_NANOS) {
+                    System.out.println(stats.summary(now)
+                            + ", AL calls last tick=" + audioEngine.getAlCallsLastFrame()
+                            + String.format(", audio queue=%d/%d drain=%.3fms max=%.3fms dropped=%d",
+                                    audioEngine.getQueueDepth(),
+                                    audioEngine.getQueueCapacity(),
+                                    audioEngine.getLastDrainNanos() / 1_000_000.0,
+                                    audioEngine.getMaxDrainNanos() / 1_000_000.0,
+                                    audioEngine.getDroppedCommands())
+                            + String.format(", voices=%d/%d stolen=%d rejected=%d",
+                                    audioEngine.getActiveVoices(),
+                                    audioEngine.getVoiceCount(),
+                                    audioEngine.getStolenVoices(),
+                                    audioEngine.getRejectedOneShots())
+                            + String.format(", beacons=%d/%d virtual=%d",
+                                    beacons.getBoundEmitters(),
+                                    beacons.getRealSourceCount(),
+                                    beacons.getVirtualEmitters())
+                            + String.format(", input latency max=%.3fms dropped=%d",
+                                    inputHandler.getMaxLatencyNanos() / 1_000_000.0,
+                                    inputHandler.getDroppedEvents()));
+                    stats.reset(now);
+                    inputHandler.resetMaxLatency();
+                }
+
+                // Sleep until the next tick (or low-power wake) is due instead of polling every millisecond
+                deadline = now + (wakeNanos - accumulator);
+                long sleepNanos = realNanos(deadline - clock.nanoTime(), tickNanos);
+                if (sleepNanos > 0) {
+                    LockSupport.parkNanos(sleepNanos);
+                }
             }
         }
 
-        private void update() {
-            long nowMs = System.currentTimeMillis();
-
-            // Play delayed kaching if scheduled
-            if (pendingKachingAtMs > 0 && nowMs >= pendingKachingAtMs) {
-                audioEngine.playFromStart("kaching");
-                pendingKachingAtMs = -1;
-            }
+        // A wait in game time as a sleep; a clock that doesn't run on its own is polled once per tick
+        private long realNanos(long gameNanos, long tickNanos) {
+            double rate = clock.rate();
+            if (rate <= 0.0) return tickNanos;
+            return (long) (gameNanos / rate);
+        }
 
-            // Spawn/update target
-            spawner.update();
-            Cat cat = spawner.getCat();
-            AudioBeacon beacon = spawner.getBeacon();
-            gamePanel.setCat(cat);
+        // catchUp: ticks already run in this loop pass
+        private void update(long tickNanos, long now, int catchUp) {
+            // Optimised away unless a recording has the event enabled
+            TickEvent event = new TickEvent();
+            event.begin();
+
+            long inputStart = inputTimer.start();
+
+            // Key events since the last tick; a tap shorter than a tick still reads as pressed
+            inputHandler.poll();
+            inputState.set(
+                    inputHandler.isLeftPressed(),
+                    inputHandler.isRightPressed(),
+                    inputHandler.isThrustPressed(),
+                    inputHandler.isShootPressed()
+            );
 
-            // No target: stop beacon and reset tracking + range state
-            if (cat == null || beacon == null) {
-                if (audioEngine.isPlaying("beacon")) {
-                    audioEngine.stop("beacon");
-                }
-                lastShipPos = null;
-                lastVelTimeMs = 0;
-                prevShootPressed = inputHandler.isShootPressed();
-                wasInRangeLastFrame = false;
-                return;
+            // F3 toggles the debug overlay layer
+            if (inputHandler.wasDebugToggled()) {
+                view.getRenderer().getDebugLayer().toggle();
             }
 
-            // Ensure beacon is playing
-            if (!audioEngine.isPlaying("beacon")) {
-                audioEngine.play("beacon");
+            // F4 toggles the frame timing graph
+            if (inputHandler.wasTimingGraphToggled()) {
+                view.getRenderer().getTimingGraphLayer().toggle();
             }
 
-            // Pre-dot to decide sticky rotation BEFORE changing angle
-            double dx0 = beacon.getPosition().x - ship.getPosition().x;
-            double dy0 = beacon.getPosition().y - ship.getPosition().y;
-            double dist0 = Math.sqrt(dx0 * dx0 + dy0 * dy0);
-
-            double toCatX0 = dx0;
-            double toCatY0 = dy0;
-            if (dist0 > 0.0) {
-                toCatX0 /= dist0;
-                toCatY0 /= dist0;
+            if (recorder != null) {
+                recorder.record(inputState, tickNanos);
             }
 
-            Vector2D forward0 = ship.getForwardVector();
-            double dot0 = forward0.x * toCatX0 + forward0.y * toCatY0;
+            long stepStart = inputTimer.stop(inputStart);
 
-            double alignThreshold0 = dynamicAlignThreshold(dist0);
-            boolean alignedForSticky = dot0 > alignThreshold0;
+            // Physics is the step minus the spawner pass the simulation timed itself
+            FrameResult frame = simulation.step(inputState, tickNanos);
+            long audioStart = System.nanoTime();
+            physicsTimer.record(audioStart - stepStart - spawnerTimer.getLastNanos(), audioStart);
 
-            // Input: rotation (sticky if aligned), thrust
-            boolean leftPressed = inputHandler.isLeftPressed();
-            boolean rightPressed = inputHandler.isRightPressed();
+            applyAudio(frame, tickNanos);
+            audioEngine.flush();
+            audioTimer.stop(audioStart);
 
-            if (alignedForSticky) {
-                if (leftPressed) ship.rotateLeft(STICKY_ROTATION_MULTIPLIER);
-                if (rightPressed) ship.rotateRight(STICKY_ROTATION_MULTIPLIER);
-            } else {
-                if (leftPressed) ship.rotateLeft();
-                if (rightPressed) ship.rotateRight();
-            }
+            publishSnapshot(frame, tickNanos, now);
 
-            if (inputHandler.isThrustPressed()) {
-                ship.thrust();
+            event.end();
+            if (event.shouldCommit()) {
+                event.tickIndex = tickIndex;
+                event.catchUp = catchUp;
+                event.commit();
             }
+            tickIndex++;
+        }
 
-            // Movement update AFTER inputs
-            ship.update(GamePanel.WIDTH, GamePanel.HEIGHT);
-
-            // Track rotation amount (for alignment meow trigger)
-            double currentAngle = ship.getAngle();
-            double delta = Math.abs(currentAngle - lastAngle);
-            if (delta > Math.PI) delta = (2.0 * Math.PI) - delta;
-            rotationAccumulator += delta;
-            lastAngle = currentAngle;
-
-            // Listener velocity (Doppler)
-            if (lastShipPos == null) {
-                lastShipPos = ship.getPosition().copy();
-                lastVelTimeMs = nowMs;
-                audioEngine.setListenerVelocity(0f, 0f, 0f);
-            } else {
-                long dtMs = nowMs - lastVelTimeMs;
-                if (dtMs <= 0) dtMs = 1;
-
-                double dt = dtMs / 1000.0;
-                double vx = (ship.getPosition().x - lastShipPos.x) / dt;
-                double vy = (ship.getPosition().y - lastShipPos.y) / dt;
-
-                audioEngine.setListenerVelocity((float) vx, 0f, (float) vy);
-
-                lastShipPos.x = ship.getPosition().x;
-                lastShipPos.y = ship.getPosition().y;
-                lastVelTimeMs = nowMs;
+        private void publishSnapshot(FrameResult frame, long tickNanos, long now) {
+            AnimalSpawner spawner = simulation.getSpawner();
+            int target = simulation.getTargetSlot();
+            boolean targetVisible = frame.targetActive && spawner.isLive(target);
+
+            // Filled in place: the exchange hands the renderer a different buffer
+            SnapshotExchange snapshots = view.getSnapshots();
+            RenderSnapshot snapshot = snapshots.back();
+            int count = spawner.getCount();
+            double[] targets = snapshot.targetBuffer(count);
+            for (int i = 0; i < count; i++) {
+                int slot = spawner.getSlot(i);
+                targets[i * 2] = spawner.getX(slot);
+                targets[i * 2 + 1] = spawner.getY(slot);
             }
 
-            // Recompute forward/dot/distance AFTER rotation + movement
-            Vector2D forward = ship.getForwardVector();
-
-            double dx = beacon.getPosition().x - ship.getPosition().x;
-            double dy = beacon.getPosition().y - ship.getPosition().y;
-            double distance = Math.sqrt(dx * dx + dy * dy);
+            snapshot.set(
+                    ship.getPreviousX(), ship.getPreviousY(), ship.getPreviousAngle(),
+                    ship.getPosition().x, ship.getPosition().y, ship.getAngle(),
+                    targetVisible,
+                    targetVisible ? spawner.getX(target) : 0.0,
+                    targetVisible ? spawner.getY(target) : 0.0,
+                    frame.sourceX, frame.sourceY, frame.dot,
+                    now, tickNanos
+            );
+            snapshots.publish();
+        }
 
-            double toCatX = dx;
-            double toCatY = dy;
-            if (distance > 0.0) {
-                toCatX /= distance;
-                toCatY /= distance;
+        private void applyAudio(FrameResult frame, long tickNanos) {
+            if (frame.hasCue(AudioCue.CAPTURED)) {
+                audioEngine.playOneShot(kachingBuffer, 0f, 0f, 0f, 1.0f, AudioEngine.PRIORITY_HIGH);
             }
 
-            double dot = forward.x * toCatX + forward.y * toCatY;
-
-            double alignThreshold = dynamicAlignThreshold(distance);
-            boolean alignedNow = dot > alignThreshold;
-
-            boolean inRangeNow = distance <= CAPTURE_DISTANCE_PX;
+            // No target: nothing is set, so every beacon fades out
+            if (!frame.targetActive) {
+                beacons.commit(tickNanos);
+                return;
+            }
 
             // One-time range entry cue (uses existing meow for now)
-            if (inRangeNow && !wasInRangeLastFrame) {
-                audioEngine.playFromStart("cat");
+            if (frame.hasCue(AudioCue.RANGE_ENTRY)) {
+                playMeow(frame);
             }
-            wasInRangeLastFrame = inRangeNow;
 
             // Listener + orientation
+            audioEngine.setListenerVelocity((float) frame.listenerVelX, 0f, (float) frame.listenerVelY);
+
             audioEngine.setListenerPosition(
-                    (float) ship.getPosition().x, 0f, (float) ship.getPosition().y
+                    (float) frame.listenerX, 0f, (float) frame.listenerY
             );
 
             audioEngine.setListenerOrientation(
-                    (float) forward.x, 0f, (float) forward.y,
+                    (float) frame.forwardX, 0f, (float) frame.forwardY,
                     0f, 1f, 0f
             );
 
-            // Source position
-            audioEngine.setSourcePosition(
-                    "cat",
-                    (float) beacon.getPosition().x, 0f, (float) beacon.getPosition().y
-            );
+            setBeacons(frame);
+            beacons.commit(tickNanos);
 
-            audioEngine.setSourcePosition(
-                    "beacon",
-                    (float) beacon.getPosition().x, 0f, (float) beacon.getPosition().y
-            );
-
-            // Static sources for now
-            audioEngine.setSourceVelocity("cat", 0f, 0f, 0f);
-            audioEngine.setSourceVelocity("beacon", 0f, 0f, 0f);
-
-            // Beacon guidance modulation by alignment
-            double clampedDot = Math.max(-1.0, Math.min(1.0, dot));
-            double t = (clampedDot + 1.0) / 2.0; // [-1..1] -> [0..1]
-
-            float basePitch = (float) (0.6 + 1.0 * t);   // 0.6 .. 1.6
-            float baseGain = (float) (0.04 + 0.10 * t);  // 0.04 .. 0.14
-
-            float pitch = basePitch;
-            float gain = baseGain;
-
-            // In-range cue: boost pitch/gain and pulse gain smoothly
-            if (inRangeNow) {
-                pitch = pitch * RANGE_BOOST_PITCH;
-
-                double phase = (nowMs % RANGE_PULSE_PERIOD_MS) / (double) RANGE_PULSE_PERIOD_MS; // 0..1
-                double pulse01 = 0.5 - 0.5 * Math.cos(2.0 * Math.PI * phase); // 0..1
-                float pulseFactor = (float) ((1.0 - RANGE_PULSE_DEPTH) + RANGE_PULSE_DEPTH * pulse01);
-
-                gain = gain * RANGE_BOOST_GAIN * pulseFactor;
+            if (frame.hasCue(AudioCue.ALIGNED)) {
+                playMeow(frame);
             }
 
-            audioEngine.setSourcePitch("beacon", pitch);
-            audioEngine.setSourceGain("beacon", gain);
-
-            // Debug visuals
-            gamePanel.setDebugData(
-                    beacon.getPosition().x,
-                    beacon.getPosition().y,
-                    dot
-            );
-
-            // Alignment meow trigger (rotate + aligned using dynamic threshold)
-            if (rotationAccumulator > Math.toRadians(10.0) && alignedNow) {
-                audioEngine.playFromStart("cat");
-                rotationAccumulator = 0.0;
+            // Always play whoosh so SPACE always has feedback
+            if (frame.hasCue(AudioCue.CAPTURE_SHOT)) {
+                audioEngine.playOneShot(whooshBuffer, 0f, 0f, 0f, 1.0f, AudioEngine.PRIORITY_NORMAL);
             }
 
-            // Capture on SPACE (edge-triggered + cooldown)
-            boolean shootPressed = inputHandler.isShootPressed();
-            boolean shootJustPressed = shootPressed && !prevShootPressed;
-            prevShootPressed = shootPressed;
-
-            if (shootJustPressed && (nowMs - lastCaptureAttemptMs) >= CAPTURE_COOLDOWN_MS) {
-                lastCaptureAttemptMs = nowMs;
-
-                boolean closeEnough = distance <= CAPTURE_DISTANCE_PX;
-
-                // Always play whoosh so SPACE always has feedback
-                audioEngine.playFromStart("whoosh");
+            if (frame.scoreEvent == ScoreEvent.CAPTURED) {
+                System.out.println("Captured! Score = " + frame.score);
+            } else if (frame.scoreEvent == ScoreEvent.MISSED) {
+                System.out.println(
+                        "Missed capture. aligned=" + frame.aligned +
+                                " close=" + frame.inRange +
+                                " dot=" + frame.dot +
+                                " dist=" + frame.distance +
+                                " threshold=" + frame.alignThreshold
+                );
+            }
+        }
 
-                if (alignedNow && closeEnough) {
-                    pendingKachingAtMs = nowMs + KACHING_DELAY_MS;
+        // Every live target's beacon, at its nearest wrapped image. The tracked one
+        // carries the simulation's range boost and is scored as fully aligned, so
+        // as the nearest it keeps a real source.
+        private void setBeacons(FrameResult frame) {
+            beacons.setListenerPosition((float) frame.listenerX, 0f, (float) frame.listenerY);
+
+            AnimalSpawner spawner = simulation.getSpawner();
+            TargetGrid grid = spawner.getGrid();
+            int tracked = simulation.getTargetSlot();
+
+            for (int i = 0, n = spawner.getCount(); i < n; i++) {
+                int slot = spawner.getSlot(i);
+                if (slot == tracked) {
+                    beacons.set(slot, (float) frame.sourceX, 0f, (float) frame.sourceY,
+                            frame.beaconGain, frame.beaconPitch, 1f);
+                    continue;
+                }
 
-                    score++;
-                    System.out.println("Captured! Score = " + score);
+                double dx = grid.wrapX(spawner.getX(slot) - frame.listenerX);
+                double dy = grid.wrapY(spawner.getY(slot) - frame.listenerY);
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                double dot = distance > 0.0 ? (frame.forwardX * dx + frame.forwardY * dy) / distance : 0.0;
 
-                    spawner.despawnNow();
-                } else {
-                    System.out.println(
-                            "Missed capture. aligned=" + alignedNow +
-                                    " close=" + closeEnough +
-                                    " dot=" + dot +
-                                    " dist=" + distance +
-                                    " threshold=" + alignThreshold
-                    );
-                }
+                beacons.set(slot,
+                        (float) (frame.listenerX + dx), 0f, (float) (frame.listenerY + dy),
+                        GameSimulation.beaconGain(dot), GameSimulation.beaconPitch(dot),
+                        (float) GameSimulation.alignment(dot));
             }
         }
+
+        // Meows come from where the cat is
+        private void playMeow(FrameResult frame) {
+            audioEngine.playOneShot(meowBuffer,
+                    (float) frame.sourceX, 0f, (float) frame.sourceY,
+                    0.08f, AudioEngine.PRIORITY_LOW);
+        }
     }
 }
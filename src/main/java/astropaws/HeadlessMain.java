@@ -0,0 +1,62 @@
+package astropaws;
+
+import astropaws.diagnostics.JfrEvents;
+import astropaws.simulation.Autopilot;
+import astropaws.simulation.FrameResult;
+import astropaws.simulation.GameSimulation;
+import astropaws.simulation.InputRecorder;
+import astropaws.simulation.InputState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs the simulation without a window or audio device, driven by the autopilot,
+ * as fast as the CPU allows. With -Dastropaws.record=<file> the autopilot's
+ * input is recorded, like the game's, for ReplayMain.
+ *
+ * Usage: HeadlessMain [ticks]
+ */
+public class HeadlessMain {
+
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : 600_000L;
+
+        // Load JFR before the first tick rather than inside it
+        JfrEvents.preload();
+
+        GameSimulation simulation = new GameSimulation(800, 600);
+        Autopilot autopilot = new Autopilot(simulation);
+        InputState input = new InputState();
+
+        String recordPath = System.getProperty("astropaws.record");
+        InputRecorder recorder = recordPath != null ? new InputRecorder(Path.of(recordPath), simulation) : null;
+
+        if (recorder != null) recorder.record(input, TICK_NANOS);
+        FrameResult frame = simulation.step(input, TICK_NANOS);
+
+        long start = System.nanoTime();
+        for (long i = 1; i < ticks; i++) {
+            autopilot.fill(input, frame);
+            if (recorder != null) recorder.record(input, TICK_NANOS);
+            frame = simulation.step(input, TICK_NANOS);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (recorder != null) recorder.close();
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf(
+                "Simulated %d ticks (%.1f game minutes) in %.3f s: %.0f ticks/s, score=%d%n",
+                ticks,
+                simulation.getTimeNanos() / 60_000_000_000.0,
+                seconds,
+                ticks / seconds,
+                simulation.getScore()
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package astropaws;
+
+/**
+ * Rolling statistics for the game loop: how late each tick started compared to
+ * its ideal deadline (jitter), how many times the loop thread woke up, and how
+ * many ticks had to be caught up or dropped.
+ *
+ * Written only by the loop thread; the snapshot in toString() is good enough
+ * for periodic logging from the same thread.
+ */
+public class LoopStats {
+
+    private long windowStartNanos;
+
+    private long ticks;
+    private long frames;
+    private long wakeups;
+    private long catchUpTicks;
+    private long droppedTicks;
+
+    private long jitterSumNanos;
+    private long jitterMaxNanos;
+
+    public LoopStats() {
+        reset(System.nanoTime());
+    }
+
+    public void reset(long nowNanos) {
+        windowStartNanos = nowNanos;
+        ticks = 0;
+        frames = 0;
+        wakeups = 0;
+        catchUpTicks = 0;
+        droppedTicks = 0;
+        jitterSumNanos = 0;
+        jitterMaxNanos = 0;
+    }
+
+    public void recordWakeup(long latenessNanos) {
+        wakeups++;
+        if (latenessNanos < 0) latenessNanos = 0;
+        jitterSumNanos += latenessNanos;
+        if (latenessNanos > jitterMaxNanos) jitterMaxNanos = latenessNanos;
+    }
+
+    public void recordFrame(int ticksThisFrame, long dropped) {
+        frames++;
+        ticks += ticksThisFrame;
+        if (ticksThisFrame > 1) catchUpTicks += ticksThisFrame - 1;
+        droppedTicks += dropped;
+    }
+
+    public long getWindowNanos(long nowNanos) {
+        return nowNanos - windowStartNanos;
+    }
+
+    public double getMeanJitterMs() {
+        return wakeups == 0 ? 0.0 : (jitterSumNanos / (double) wakeups) / 1_000_000.0;
+    }
+
+    public double getMaxJitterMs() {
+        return jitterMaxNanos / 1_000_000.0;
+    }
+
+    public String summary(long nowNanos) {
+        double seconds = getWindowNanos(nowNanos) / 1_000_000_000.0;
+        if (seconds <= 0) seconds = 1e-9;
+
+        return String.format(
+                "loop: %.1f ticks/s, %.1f frames/s, %.1f wakeups/s, jitter mean=%.3fms max=%.3fms, catch-up=%d, dropped=%d",
+                ticks / seconds,
+                frames / seconds,
+                wakeups / seconds,
+                getMeanJitterMs(),
+                getMaxJitterMs(),
+                catchUpTicks,
+                droppedTicks
+        );
+    }
+}
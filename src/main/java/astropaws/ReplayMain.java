@@ -0,0 +1,65 @@
+package astropaws;
+
+import astropaws.diagnostics.JfrEvents;
+import astropaws.simulation.GameSimulation;
+import astropaws.simulation.InputReplay;
+import astropaws.simulation.InputState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Replays an input recording (-Dastropaws.record) through a fresh simulation
+ * with the recorded seed, without a window or audio device, as fast as the CPU
+ * allows. Prints the final score and the slowest tick, so a reported spike or
+ * missed capture can be stepped through again.
+ *
+ * Usage: ReplayMain &lt;recording&gt;
+ */
+public class ReplayMain {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayMain <recording>");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+
+        InputReplay replay = InputReplay.open(Path.of(args[0]));
+        GameSimulation simulation = replay.createSimulation();
+        InputState input = new InputState();
+
+        // Otherwise the first event would load JFR inside tick #0 and always make it the slowest
+        JfrEvents.preload();
+
+        long slowestTick = -1;
+        long slowestNanos = 0;
+
+        long start = System.nanoTime();
+        long tickStart = start;
+        while (replay.next(input)) {
+            simulation.step(input, replay.getDtNanos());
+
+            long tickEnd = System.nanoTime();
+            if (tickEnd - tickStart > slowestNanos) {
+                slowestNanos = tickEnd - tickStart;
+                slowestTick = replay.getTicks() - 1;
+            }
+            tickStart = tickEnd;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf(
+                "Replayed %d ticks (%.1f game minutes, seed %d) in %.3f s: %.0f ticks/s, score=%d, slowest tick #%d (%.3f ms)%n",
+                replay.getTicks(),
+                simulation.getTimeNanos() / 60_000_000_000.0,
+                replay.getSeed(),
+                seconds,
+                replay.getTicks() / Math.max(seconds, 1e-9),
+                simulation.getScore(),
+                slowestTick,
+                slowestNanos / 1_000_000.0
+        );
+    }
+}
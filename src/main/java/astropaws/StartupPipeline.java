@@ -0,0 +1,186 @@
+package astropaws;
+
+import astropaws.diagnostics.JfrEvents;
+import astropaws.view.AssetRegistry;
+import astropaws.view.GameCanvas;
+import astropaws.view.GamePanel;
+import astropaws.view.GameView;
+import astropaws.view.audio.AudioEngine;
+import astropaws.view.audio.AudioPack;
+import astropaws.view.audio.WavLoader;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brings the game up in stages that overlap instead of running one after another:
+ *
+ * <ul>
+ *   <li>EDT: the window is shown first, with a loading label.</li>
+ *   <li>Worker pool: OpenAL init (which waits on the audio thread), the audio
+ *       pack or WAV decodes, the sprite decodes and ship rotation atlas, and
+ *       loading the JFR event classes so the first tick doesn't.</li>
+ *   <li>Calling thread: buffer uploads are queued in order as each sound is
+ *       ready; AudioEngine has a single producer, so this stays on one thread.</li>
+ *   <li>EDT: the view is created once the sprites are ready and swapped in.</li>
+ * </ul>
+ *
+ * Each stage is timed in a StartupReport, printed when the first frame is
+ * handed to the view.
+ */
+final class StartupPipeline {
+
+    static final String FIRST_FRAME = "first playable frame";
+
+    private static final String AUDIO_PACK = "Audio/sounds.pack";
+    private static final String[] SOUNDS = {"meow", "beacon", "whoosh", "kaching"};
+
+    private final StartupReport report = new StartupReport();
+    private final Executor edt = SwingUtilities::invokeLater;
+
+    StartupReport getReport() {
+        return report;
+    }
+
+    /**
+     * Runs every stage and starts the game. Returns once the loop is running.
+     */
+    GameController run() {
+        ExecutorService workers = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), new WorkerFactory());
+
+        CompletableFuture<JFrame> window = CompletableFuture.supplyAsync(
+                () -> report.time("window shown", StartupPipeline::showLoadingWindow), edt);
+
+        try {
+            CompletableFuture<AudioEngine> audio = CompletableFuture.supplyAsync(
+                    () -> report.time("openal init", StartupPipeline::initAudio), workers);
+
+            CompletableFuture<AudioPack> pack = CompletableFuture.supplyAsync(
+                    () -> report.time("open audio pack", () -> AudioPack.open(AUDIO_PACK)), workers);
+
+            List<CompletableFuture<WavLoader.WavData>> sounds = new ArrayList<>();
+            for (String name : SOUNDS) {
+                sounds.add(pack.thenApplyAsync(p -> decodeSound(p, name), workers));
+            }
+
+            List<CompletableFuture<?>> images = new ArrayList<>();
+            for (AssetRegistry.Sprite sprite : AssetRegistry.Sprite.values()) {
+                CompletableFuture<?> image = CompletableFuture.runAsync(
+                        () -> report.time("decode " + sprite.name().toLowerCase(), () -> AssetRegistry.get(sprite)),
+                        workers);
+                if (sprite == AssetRegistry.Sprite.SHIP) {
+                    image = image.thenRunAsync(
+                            () -> report.time("ship rotation atlas", AssetRegistry::getShipAtlas), workers);
+                }
+                images.add(image);
+            }
+
+            CompletableFuture<Void> jfr = CompletableFuture.runAsync(
+                    () -> report.time("load jfr events", JfrEvents::preload), workers);
+
+            // AL-bound: queue the uploads from this thread, in order, as each decode finishes
+            AudioEngine audioEngine = audio.join();
+            for (int i = 0; i < SOUNDS.length; i++) {
+                WavLoader.WavData wav = sounds.get(i).join();
+                String name = SOUNDS[i];
+                report.time("queue upload " + name, () -> audioEngine.loadSound(name, wav.pcm, wav.sampleRate));
+            }
+
+            // Swing-bound: the view picks up the already-decoded sprites
+            CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0])).join();
+            jfr.join();
+            JFrame frame = window.join();
+            GameView view = CompletableFuture.supplyAsync(
+                    () -> report.time("create view", () -> installView(frame)), edt).join();
+
+            GameController controller = report.time("create controller", () -> new GameController(audioEngine, view));
+            controller.setFirstFrameListener(() -> {
+                report.mark(FIRST_FRAME);
+                System.out.print(report);
+            });
+            controller.start();
+            return controller;
+        } catch (CompletionException e) {
+            window.thenAcceptAsync(JFrame::dispose, edt);
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } catch (RuntimeException e) {
+            window.thenAcceptAsync(JFrame::dispose, edt);
+            throw e;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private static JFrame showLoadingWindow() {
+        JFrame frame = new JFrame("AstroPaws");
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setResizable(false);
+
+        JLabel loading = new JLabel("Loading...", SwingConstants.CENTER);
+        loading.setOpaque(true);
+        loading.setBackground(Color.BLACK);
+        loading.setForeground(Color.WHITE);
+        loading.setPreferredSize(new Dimension(GamePanel.WIDTH, GamePanel.HEIGHT));
+        frame.add(loading);
+
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+        return frame;
+    }
+
+    private static AudioEngine initAudio() {
+        AudioEngine audioEngine = new AudioEngine();
+        audioEngine.init();
+        return audioEngine;
+    }
+
+    // Pre-decoded pack written by the build; falls back to the WAVs if it's missing
+    private WavLoader.WavData decodeSound(AudioPack pack, String name) {
+        AudioPack.Entry entry = pack != null ? pack.get(name) : null;
+        if (entry != null) {
+            return new WavLoader.WavData(entry.pcm, entry.sampleRate);
+        }
+        return report.time("decode " + name, () -> WavLoader.load("Audio/" + name + ".wav"));
+    }
+
+    private static GameView installView(JFrame frame) {
+        // Active rendering by default; -Dastropaws.render=swing falls back to JPanel repaints
+        GameView view;
+        if ("swing".equalsIgnoreCase(System.getProperty("astropaws.render"))) {
+            view = new GamePanel();
+        } else {
+            view = new GameCanvas();
+        }
+
+        frame.getContentPane().removeAll();
+        frame.add(view.getComponent());
+        frame.validate();
+
+        // Important: ensure key events (SPACE) are captured
+        view.getComponent().requestFocusInWindow();
+        return view;
+    }
+
+    private static final class WorkerFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "StartupWorker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package astropaws;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock timings of the startup stages, measured from entry to main() and
+ * recorded from whichever thread ran each stage. Stages can overlap; the
+ * report lists them in start order so the critical path is easy to see.
+ */
+public final class StartupReport {
+
+    public static final class Stage {
+        public final String name;
+        public final String thread;
+        public final long startNanos;
+        public final long endNanos;
+
+        Stage(String name, String thread, long startNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    private final long originNanos = System.nanoTime();
+
+    // Time the JVM spent before main() was entered
+    private final long jvmStartupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    public <T> T time(String name, Supplier<T> stage) {
+        long start = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    public void time(String name, Runnable stage) {
+        long start = System.nanoTime();
+        try {
+            stage.run();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * A zero-length marker, e.g. "window shown".
+     */
+    public void mark(String name) {
+        long now = System.nanoTime();
+        record(name, now, now);
+    }
+
+    private synchronized void record(String name, long start, long end) {
+        stages.add(new Stage(name, Thread.currentThread().getName(), start - originNanos, end - originNanos));
+    }
+
+    public synchronized List<Stage> getStages() {
+        List<Stage> sorted = new ArrayList<>(stages);
+        sorted.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Nanoseconds from main() to the end of the named stage, or -1 if it hasn't happened.
+     */
+    public synchronized long getElapsedNanos(String name) {
+        for (Stage stage : stages) {
+            if (stage.name.equals(name)) {
+                return stage.endNanos;
+            }
+        }
+        return -1;
+    }
+
+    public long getJvmStartupMillis() {
+        return jvmStartupMillis;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Startup (JVM before main: %d ms)%n", jvmStartupMillis));
+        sb.append(String.format("  %-24s %-18s %9s %9s%n", "stage", "thread", "start ms", "took ms"));
+        for (Stage stage : getStages()) {
+            sb.append(String.format("  %-24s %-18s %9.1f %9.1f%n",
+                    stage.name, stage.thread,
+                    stage.startNanos / 1_000_000.0,
+                    stage.durationNanos() / 1_000_000.0));
+        }
+        return sb.toString();
+    }
+}
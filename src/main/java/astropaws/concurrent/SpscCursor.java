@@ -0,0 +1,104 @@
+package astropaws.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The index half of a single-producer/single-consumer ring: which slot the
+ * producer fills next and which the consumer reads next. A queue keeps its
+ * payload in its own preallocated column arrays, indexed by the slots this
+ * hands out, so nothing is allocated per element.
+ *
+ * Producer: slot = claim(); write the columns at slot; commit().
+ * Consumer: slot = peek(); read the columns at slot; release().
+ *
+ * commit() publishes the column writes before it (lazySet), and release()
+ * hands the slot back only after the reads before it.
+ */
+public final class SpscCursor {
+
+    private final int capacity;
+    private final int mask;
+
+    // Next slot the consumer reads (HEAD) / the producer writes (TAIL), kept
+    // 128 bytes apart so the two threads don't fight over one cache line
+    private static final int HEAD = 0;
+    private static final int TAIL = 16;
+    private final AtomicLongArray counters = new AtomicLongArray(TAIL + 16);
+
+    // Each side's own index ([0]) plus a cached copy of the other side's ([1]),
+    // refreshed only when the ring looks full (producer) or empty (consumer).
+    // Separate padded arrays, so neither side writes the other's cache line.
+    private final long[] producer = new long[16];
+    private final long[] consumer = new long[16];
+
+    public SpscCursor(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    // ---------- PRODUCER ----------
+
+    /**
+     * Returns the slot to fill, or -1 if the ring is full.
+     */
+    public int claim() {
+        long t = producer[0];
+        if (t - producer[1] >= capacity) {
+            producer[1] = counters.get(HEAD);
+            if (t - producer[1] >= capacity) return -1;
+        }
+        return (int) (t & mask);
+    }
+
+    public void commit() {
+        counters.lazySet(TAIL, ++producer[0]);
+    }
+
+    /**
+     * True if n more slots can be claimed. The consumer can only free slots,
+     * so a batch that fits now still fits when it is written.
+     */
+    public boolean hasRoom(int n) {
+        if (capacity - (producer[0] - producer[1]) >= n) return true;
+        producer[1] = counters.get(HEAD);
+        return capacity - (producer[0] - producer[1]) >= n;
+    }
+
+    // ---------- CONSUMER ----------
+
+    /**
+     * Returns the next slot to read, or -1 if the ring is empty.
+     */
+    public int peek() {
+        long h = consumer[0];
+        if (h >= consumer[1]) {
+            consumer[1] = counters.get(TAIL);
+            if (h >= consumer[1]) return -1;
+        }
+        return (int) (h & mask);
+    }
+
+    /**
+     * Hands the slot returned by peek() back to the producer. Clear any
+     * references the slot holds before calling this.
+     */
+    public void release() {
+        long h = consumer[0] + 1;
+        consumer[0] = h;
+        counters.lazySet(HEAD, h);
+    }
+
+    // ---------- STATS ----------
+
+    // Safe from any thread; may be off by an element or two while both sides run
+    public int size() {
+        return (int) (counters.get(TAIL) - counters.get(HEAD));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
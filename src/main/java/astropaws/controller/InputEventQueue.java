@@ -0,0 +1,54 @@
+package astropaws.controller;
+
+import astropaws.concurrent.SpscCursor;
+
+/**
+ * Single-producer/single-consumer ring of key events, from the EDT to the game
+ * loop. Slots are preallocated columns of primitives, so an event is three
+ * array writes and a counter store. The slot indices come from an SpscCursor.
+ *
+ * Producer: slot = claim(); write keyCode[slot], pressed[slot], nanos[slot]; commit().
+ * Consumer: slot = peek(); read the fields; release().
+ */
+final class InputEventQueue {
+
+    final int[] keyCode;
+    final boolean[] pressed;
+    final long[] nanos;
+
+    private final SpscCursor cursor;
+
+    InputEventQueue(int capacity) {
+        cursor = new SpscCursor(capacity);
+
+        keyCode = new int[capacity];
+        pressed = new boolean[capacity];
+        nanos = new long[capacity];
+    }
+
+    // ---------- PRODUCER ----------
+
+    /**
+     * Returns the slot to fill, or -1 if the ring is full.
+     */
+    int claim() {
+        return cursor.claim();
+    }
+
+    void commit() {
+        cursor.commit();
+    }
+
+    // ---------- CONSUMER ----------
+
+    /**
+     * Returns the next slot to read, or -1 if the ring is empty.
+     */
+    int peek() {
+        return cursor.peek();
+    }
+
+    void release() {
+        cursor.release();
+    }
+}
@@ -2,24 +2,150 @@ package astropaws.controller;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.HashSet;
-import java.util.Set;
 
+/**
+ * Keyboard input handed from the EDT to the game loop without locks.
+ *
+ * The EDT pushes each key transition (code, press/release, System.nanoTime())
+ * onto a preallocated ring; auto-repeat presses are dropped there. Once per
+ * tick the game loop calls poll(), which drains the ring into bit sets: keys
+ * held now, and keys pressed or released during the tick. A key pressed and
+ * released between two polls still counts as pressed for that tick, so quick
+ * taps aren't lost.
+ *
+ * Everything except the KeyListener methods belongs to the game thread.
+ * Key codes at or above MAX_KEY_CODE (extended Unicode codes) are ignored.
+ */
 public class InputHandler extends KeyAdapter {
-    private Set<Integer> pressedKeys = new HashSet<>();
+
+    public static final int MAX_KEY_CODE = 1024;
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int WORDS = MAX_KEY_CODE / 64;
+
+    private final InputEventQueue queue = new InputEventQueue(QUEUE_CAPACITY);
+
+    // EDT only: keys it has reported down, to filter out auto-repeat
+    private final long[] sentDown = new long[WORDS];
+
+    // Events lost to a full ring; written by the EDT, read anywhere
+    private volatile long droppedEvents;
+
+    // Game thread only
+    private final long[] down = new long[WORDS];
+    private final long[] pressedThisTick = new long[WORDS];
+    private final long[] releasedThisTick = new long[WORDS];
+    private final long[] lastPressNanos = new long[MAX_KEY_CODE];
+    private final long[] lastReleaseNanos = new long[MAX_KEY_CODE];
+    private int eventsLastPoll;
+    private long maxLatencyNanos;
 
     @Override
     public void keyPressed(KeyEvent e) {
-        pressedKeys.add(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code <= 0 || code >= MAX_KEY_CODE || isSet(sentDown, code)) return;
+        if (offer(code, true)) {
+            sentDown[code >>> 6] |= 1L << code;
+        }
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getKeyCode());
+        int code = e.getKeyCode();
+        if (code <= 0 || code >= MAX_KEY_CODE) return;
+        if (offer(code, false)) {
+            sentDown[code >>> 6] &= ~(1L << code);
+        }
     }
 
+    // A dropped press is retried by the next auto-repeat, a dropped release by the next release
+    private boolean offer(int code, boolean pressed) {
+        int slot = queue.claim();
+        if (slot < 0) {
+            droppedEvents++;
+            return false;
+        }
+        queue.keyCode[slot] = code;
+        queue.pressed[slot] = pressed;
+        queue.nanos[slot] = System.nanoTime();
+        queue.commit();
+        return true;
+    }
+
+    /**
+     * Applies every event since the last poll. Call once per tick, before reading keys.
+     */
+    public void poll() {
+        for (int i = 0; i < WORDS; i++) {
+            pressedThisTick[i] = 0L;
+            releasedThisTick[i] = 0L;
+        }
+
+        int events = 0;
+        long now = 0;
+        int slot;
+        while ((slot = queue.peek()) >= 0) {
+            int code = queue.keyCode[slot];
+            long nanos = queue.nanos[slot];
+            int word = code >>> 6;
+            long bit = 1L << code;
+
+            if (queue.pressed[slot]) {
+                down[word] |= bit;
+                pressedThisTick[word] |= bit;
+                lastPressNanos[code] = nanos;
+            } else {
+                down[word] &= ~bit;
+                releasedThisTick[word] |= bit;
+                lastReleaseNanos[code] = nanos;
+            }
+            queue.release();
+
+            if (events++ == 0) {
+                now = System.nanoTime();
+            }
+            maxLatencyNanos = Math.max(maxLatencyNanos, now - nanos);
+        }
+        eventsLastPoll = events;
+    }
+
+    /**
+     * Held at the last poll, or pressed at some point since the one before.
+     */
     public boolean isKeyPressed(int keyCode) {
-        return pressedKeys.contains(keyCode);
+        return isKeyDown(keyCode) || wasKeyPressed(keyCode);
+    }
+
+    /**
+     * Held at the last poll.
+     */
+    public boolean isKeyDown(int keyCode) {
+        return inRange(keyCode) && isSet(down, keyCode);
+    }
+
+    /**
+     * Went down between the last two polls (the edge, even if already released).
+     */
+    public boolean wasKeyPressed(int keyCode) {
+        return inRange(keyCode) && isSet(pressedThisTick, keyCode);
+    }
+
+    /**
+     * Went up between the last two polls.
+     */
+    public boolean wasKeyReleased(int keyCode) {
+        return inRange(keyCode) && isSet(releasedThisTick, keyCode);
+    }
+
+    /**
+     * System.nanoTime() of the key's latest press event that has been polled, or 0.
+     */
+    public long getLastPressNanos(int keyCode) {
+        return inRange(keyCode) ? lastPressNanos[keyCode] : 0L;
+    }
+
+    public long getLastReleaseNanos(int keyCode) {
+        return inRange(keyCode) ? lastReleaseNanos[keyCode] : 0L;
     }
 
     public boolean isLeftPressed() {
@@ -37,4 +163,51 @@ public class InputHandler extends KeyAdapter {
     public boolean isShootPressed() {
         return isKeyPressed(KeyEvent.VK_SPACE);
     }
-}
\ No newline at end of file
+
+    public boolean isDebugTogglePressed() {
+        return isKeyPressed(KeyEvent.VK_F3);
+    }
+
+    /**
+     * True on the tick F3 went down.
+     */
+    public boolean wasDebugToggled() {
+        return wasKeyPressed(KeyEvent.VK_F3);
+    }
+
+    /**
+     * True on the tick F4 went down.
+     */
+    public boolean wasTimingGraphToggled() {
+        return wasKeyPressed(KeyEvent.VK_F4);
+    }
+
+    // ---------- STATS ----------
+
+    public int getEventsLastPoll() {
+        return eventsLastPoll;
+    }
+
+    /**
+     * Longest wait from a key event to the poll that applied it, since the last reset.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    public void resetMaxLatency() {
+        maxLatencyNanos = 0L;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    private static boolean inRange(int keyCode) {
+        return keyCode > 0 && keyCode < MAX_KEY_CODE;
+    }
+
+    private static boolean isSet(long[] bits, int keyCode) {
+        return (bits[keyCode >>> 6] & (1L << keyCode)) != 0;
+    }
+}
@@ -0,0 +1,26 @@
+package astropaws.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One AudioEngine command as the audio thread runs it against OpenAL. The
+ * event's duration is the time the driver calls took.
+ */
+@Name("astropaws.AudioCommand")
+@Label("Audio Command")
+@Category({"AstroPaws", "Audio"})
+@Description("An AudioEngine command executed on the audio thread")
+@StackTrace(false)
+public final class AudioCommandEvent extends jdk.jfr.Event {
+
+    @Label("Source Id")
+    @Description("Source handle the command is for, or -1 for buffer, listener and batch commands")
+    public int sourceId;
+
+    @Label("Operation")
+    public String operation;
+}
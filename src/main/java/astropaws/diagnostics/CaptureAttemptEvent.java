@@ -0,0 +1,46 @@
+package astropaws.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A capture shot, with the alignment and range of the target it caught, or of
+ * the tracked target if it caught nothing.
+ */
+@Name("astropaws.CaptureAttempt")
+@Label("Capture Attempt")
+@Category({"AstroPaws", "Simulation"})
+@StackTrace(false)
+public final class CaptureAttemptEvent extends jdk.jfr.Event {
+
+    public static final String CAPTURED = "captured";
+    public static final String CAPTURED_IN_CONE = "captured in cone";
+    public static final String MISSED = "missed";
+
+    @Label("Aligned")
+    @Description("Ship pointed at the target within the threshold")
+    public boolean aligned;
+
+    @Label("Dot")
+    @Description("Cosine of the angle between the ship's heading and the target")
+    public double dot;
+
+    @Label("Distance")
+    @Description("Pixels to the target")
+    public double distance;
+
+    @Label("Threshold")
+    @Description("Alignment threshold (minimum dot) at that distance")
+    public double threshold;
+
+    @Label("Outcome")
+    @Description("captured (the tracked target), captured in cone (another target) or missed")
+    public String outcome;
+
+    @Label("Simulation Time")
+    @Description("Simulation milliseconds of the step the shot was fired in")
+    public long simulationTimeMs;
+}
@@ -0,0 +1,32 @@
+package astropaws.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A target removed by AnimalSpawner: captured, cleared or run out of lifetime.
+ */
+@Name("astropaws.Despawn")
+@Label("Target Despawn")
+@Category({"AstroPaws", "Simulation"})
+@StackTrace(false)
+public final class DespawnEvent extends jdk.jfr.Event {
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Expired")
+    @Description("True if the target's lifetime ran out, false if it was removed (captured or cleared)")
+    public boolean expired;
+
+    @Label("Age")
+    @Description("Simulation milliseconds the target was alive")
+    public long ageMs;
+
+    @Label("Live Targets")
+    @Description("Live targets left")
+    public int liveTargets;
+}
@@ -0,0 +1,68 @@
+package astropaws.diagnostics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-phase frame timing: one PhaseTimer for each part of a tick plus the
+ * paint. The game loop times spawner, input, physics and audio; whichever
+ * thread draws times paint. Each timer publishes p50/p99/max every
+ * INTERVAL_NANOS and is registered over JMX as
+ * astropaws:type=FrameTiming,phase=&lt;name&gt;.
+ */
+public final class FrameTiming {
+
+    public static final long INTERVAL_NANOS = 5_000_000_000L;
+
+    public enum Phase {
+        SPAWNER("spawner"),
+        INPUT("input"),
+        PHYSICS("physics"),
+        AUDIO("audio push"),
+        PAINT("paint");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final PhaseTimer[] timers = new PhaseTimer[Phase.values().length];
+
+    public FrameTiming() {
+        for (Phase phase : Phase.values()) {
+            timers[phase.ordinal()] = new PhaseTimer(phase.getLabel(), INTERVAL_NANOS);
+        }
+    }
+
+    public PhaseTimer get(Phase phase) {
+        return timers[phase.ordinal()];
+    }
+
+    /**
+     * Registers every phase with the platform MBean server, replacing timers
+     * registered earlier. Failures are reported and otherwise ignored.
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Phase phase : Phase.values()) {
+            try {
+                ObjectName name = new ObjectName("astropaws:type=FrameTiming,phase="
+                        + ObjectName.quote(phase.getLabel()));
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+                server.registerMBean(get(phase), name);
+            } catch (JMException e) {
+                System.err.println("Failed to register frame timing MBean for " + phase.getLabel() + ": " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package astropaws.diagnostics;
+
+/**
+ * The game's JFR event types. The first instance of any jdk.jfr.Event
+ * subclass loads and sets up the JFR event machinery, which takes hundreds of
+ * milliseconds; preload() pays that before the game loop starts instead of on
+ * the first tick.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Loads every event class by creating one instance of each. Nothing is
+     * committed. Safe to call from any thread, and more than once.
+     */
+    public static void preload() {
+        new TickEvent();
+        new AudioCommandEvent();
+        new SpawnEvent();
+        new DespawnEvent();
+        new CaptureAttemptEvent();
+    }
+}
@@ -0,0 +1,80 @@
+package astropaws.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of durations in nanoseconds, laid out like
+ * HdrHistogram: values below 128 get a bucket each, and every power of two
+ * above that is split into 64 linear sub-buckets, so any recorded value is
+ * known to within 1/64 (about 1.6%). Values up to HIGHEST_TRACKABLE (about
+ * 36 minutes) fit in 2304 counters; larger ones are clamped.
+ *
+ * record() is a few shifts and an array increment and never allocates.
+ * Single writer; read it from the same thread.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int MAX_SHIFT = 34;
+
+    public static final long HIGHEST_TRACKABLE = (1L << (MAX_SHIFT + SUB_BITS)) - 1;
+
+    private final long[] counts = new long[SUB_COUNT + MAX_SHIFT * HALF];
+    private long total;
+    private long max;
+
+    public void record(long nanos) {
+        long value = Math.max(0L, Math.min(nanos, HIGHEST_TRACKABLE));
+        counts[index(value)]++;
+        total++;
+        if (value > max) max = value;
+    }
+
+    /**
+     * The value below which percentile % of the recorded values fall, as the
+     * top of its bucket (never above the exact max); 0 if nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (total == 0) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getTotalCount() {
+        return total;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        total = 0;
+        max = 0;
+    }
+
+    // Below 128: the value itself; above: 64 sub-buckets per power of two
+    private static int index(long value) {
+        if (value < SUB_COUNT) return (int) value;
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return SUB_COUNT + (shift - 1) * HALF + (int) ((value >>> shift) - HALF);
+    }
+
+    private static long highestEquivalent(int index) {
+        if (index < SUB_COUNT) return index;
+        int shift = (index - SUB_COUNT) / HALF + 1;
+        long sub = (index - SUB_COUNT) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,152 @@
+package astropaws.diagnostics;
+
+/**
+ * Times one phase of a frame. The thread that runs the phase brackets it with
+ * start()/stop(); durations go into a LatencyHistogram, and every interval
+ * its p50/p99/max are published for JMX and the overlay and the histogram
+ * starts over. The most recent durations are also kept in a small ring for
+ * graphing.
+ *
+ * One writer thread per timer. Readers on other threads only see the
+ * published summary and the ring, both through volatile fields, so recording
+ * needs no lock and allocates nothing (apart from the summary text once per
+ * interval).
+ */
+public final class PhaseTimer implements PhaseTimerMXBean {
+
+    public static final int RECENT_SAMPLES = 128;
+
+    private final String phase;
+    private final long intervalNanos;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    // Writer only
+    private long intervalStart;
+    private boolean started;
+    private long lastNanos;
+
+    // Last completed interval
+    private volatile long p50Nanos;
+    private volatile long p99Nanos;
+    private volatile long maxNanos;
+    private volatile long samples;
+    private volatile String summary;
+
+    private final long[] recent = new long[RECENT_SAMPLES];
+    private volatile long recorded;
+
+    PhaseTimer(String phase, long intervalNanos) {
+        this.phase = phase;
+        this.intervalNanos = intervalNanos;
+        this.summary = phase + " -";
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since start and returns the current time, so the next
+     * phase can start from it without reading the clock again.
+     */
+    public long stop(long startNanos) {
+        long now = System.nanoTime();
+        record(now - startNanos, now);
+        return now;
+    }
+
+    public void record(long nanos, long nowNanos) {
+        if (!started) {
+            started = true;
+            intervalStart = nowNanos;
+        } else if (nowNanos - intervalStart >= intervalNanos) {
+            publish();
+            intervalStart = nowNanos;
+        }
+
+        histogram.record(nanos);
+        lastNanos = nanos;
+
+        long count = recorded;
+        recent[(int) (count % RECENT_SAMPLES)] = nanos;
+        recorded = count + 1;
+    }
+
+    private void publish() {
+        p50Nanos = histogram.valueAtPercentile(50.0);
+        p99Nanos = histogram.valueAtPercentile(99.0);
+        maxNanos = histogram.getMax();
+        samples = histogram.getTotalCount();
+        summary = String.format("%s p50=%.3f p99=%.3f max=%.3f ms",
+                phase, p50Nanos / 1_000_000.0, p99Nanos / 1_000_000.0, maxNanos / 1_000_000.0);
+        histogram.reset();
+    }
+
+    /**
+     * The last recorded duration; writer thread only.
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * Durations recorded so far; recent samples are getRecent(count - 1) back to
+     * getRecent(count - RECENT_SAMPLES).
+     */
+    public long getRecordedCount() {
+        return recorded;
+    }
+
+    public long getRecent(long index) {
+        return recent[(int) (index % RECENT_SAMPLES)];
+    }
+
+    /**
+     * One line for the overlay: phase name and last interval's p50/p99/max.
+     */
+    public String getSummary() {
+        return summary;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String getPhase() {
+        return phase;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return p50Nanos / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return p99Nanos / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos / 1000.0;
+    }
+
+    @Override
+    public long getSamples() {
+        return samples;
+    }
+
+    @Override
+    public double getIntervalSeconds() {
+        return intervalNanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package astropaws.diagnostics;
+
+/**
+ * JMX view of one PhaseTimer, over its last completed interval.
+ */
+public interface PhaseTimerMXBean {
+
+    String getPhase();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+
+    long getSamples();
+
+    double getIntervalSeconds();
+}
@@ -0,0 +1,34 @@
+package astropaws.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A target spawned by AnimalSpawner.
+ */
+@Name("astropaws.Spawn")
+@Label("Target Spawn")
+@Category({"AstroPaws", "Simulation"})
+@StackTrace(false)
+public final class SpawnEvent extends jdk.jfr.Event {
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Simulation Time")
+    @Description("Simulation milliseconds when the target spawned")
+    public long simulationTimeMs;
+
+    @Label("Live Targets")
+    @Description("Live targets including this one")
+    public int liveTargets;
+}
@@ -0,0 +1,27 @@
+package astropaws.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One game loop tick: input, simulation step and audio push, from the
+ * GameLoop thread. The event's duration is the tick's.
+ */
+@Name("astropaws.Tick")
+@Label("Game Tick")
+@Category({"AstroPaws", "Game Loop"})
+@Description("One fixed-timestep tick of the game loop")
+@StackTrace(false)
+public final class TickEvent extends jdk.jfr.Event {
+
+    @Label("Tick Index")
+    @Description("Ticks run before this one since the loop started")
+    public long tickIndex;
+
+    @Label("Catch-up Count")
+    @Description("Ticks already run in the same loop pass; above 0 the loop is catching up after a stall")
+    public int catchUp;
+}
@@ -1,68 +1,294 @@
 package astropaws.model;
 
+import astropaws.diagnostics.DespawnEvent;
+import astropaws.diagnostics.SpawnEvent;
+import astropaws.time.TimingWheel;
+
 import java.util.Random;
 
+/**
+ * Up to maxTargets concurrent cat targets, each with its own beacon at the
+ * same position. Targets live in preallocated primitive arrays indexed by
+ * slot, so spawning and despawning allocate nothing; a slot number stays
+ * valid for as long as its target is alive.
+ *
+ * Live slots are also kept densely in spawn-order-independent positions
+ * 0..getCount()-1 (see getSlot), so iterating them doesn't touch free slots.
+ *
+ * Live targets are also kept in a TargetGrid, updated as they spawn, move
+ * and despawn, for nearest/radius/cone queries on the wrapping screen.
+ *
+ * Each slot has a reusable expiry timer on the game's TimingWheel, scheduled
+ * on spawn and cancelled on despawn, so targets run out without a per-tick
+ * scan. Whoever owns the wheel advances it after update() (GameSimulation
+ * does, in step()).
+ *
+ * The defaults (one target, respawned as soon as the last is gone, 15 s
+ * lifetime) are the original single-cat behaviour.
+ *
+ * Spawn positions come from a Random with a known seed, so a recorded game
+ * can be replayed exactly.
+ */
 public class AnimalSpawner {
 
-    private static final int ACTIVE_DURATION_MS = 15000;
-
-    private Cat currentCat;
-    private AudioBeacon beacon;
+    public static final int DEFAULT_MAX_TARGETS = 1;
+    public static final long DEFAULT_SPAWN_INTERVAL_MS = 0;
+    public static final long DEFAULT_LIFETIME_MS = 15000;
 
-    private long spawnTime;
-    private boolean active = false;
+    private static final int SPRITE_SIZE = 64;
 
-    private final Random random = new Random();
+    // Grid cells sized for about this many targets each, within these bounds (px)
+    private static final double TARGETS_PER_CELL = 2.0;
+    private static final double MIN_CELL_SIZE = 8.0;
+    private static final double MAX_CELL_SIZE = 200.0;
 
     private final int screenWidth;
     private final int screenHeight;
+    private final int maxTargets;
+    private final long spawnIntervalMs;
+    private final long lifetimeMs;
+
+    // Per slot
+    private final double[] x;
+    private final double[] y;
+    private final long[] spawnTime;
+    private final TimingWheel.Timer[] expiry;
+    private final int[] denseIndex;
+
+    private final TimingWheel timers;
+
+    private final TargetGrid grid;
+
+    // Dense list of live slots; live[0..count) are in use
+    private final int[] live;
+    private int count;
+
+    // Free slots as a stack; free[0..freeCount) are unused
+    private final int[] free;
+    private int freeCount;
+
+    private long lastSpawnMs;
+    private boolean spawnedYet;
+
+    private final long seed;
+    private final Random random;
+
+    public AnimalSpawner(int screenWidth, int screenHeight, TimingWheel timers) {
+        this(screenWidth, screenHeight, DEFAULT_MAX_TARGETS, DEFAULT_SPAWN_INTERVAL_MS, DEFAULT_LIFETIME_MS,
+                new Random().nextLong(), timers);
+    }
+
+    /**
+     * @param maxTargets      most targets alive at once
+     * @param spawnIntervalMs at most one spawn per interval while below the cap;
+     *                        0 refills every free slot on each update
+     * @param lifetimeMs      how long a target stays before it despawns
+     * @param seed            for spawn positions
+     * @param timers          runs the expiries; advanced in the same milliseconds as update()
+     */
+    public AnimalSpawner(int screenWidth, int screenHeight, int maxTargets, long spawnIntervalMs, long lifetimeMs,
+                         long seed, TimingWheel timers) {
+        if (maxTargets <= 0) {
+            throw new IllegalArgumentException("maxTargets must be positive: " + maxTargets);
+        }
+        if (spawnIntervalMs < 0 || lifetimeMs <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid spawn timing: interval=" + spawnIntervalMs + "ms, lifetime=" + lifetimeMs + "ms");
+        }
 
-    public AnimalSpawner(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
+        this.maxTargets = maxTargets;
+        this.spawnIntervalMs = spawnIntervalMs;
+        this.lifetimeMs = lifetimeMs;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.timers = timers;
+
+        x = new double[maxTargets];
+        y = new double[maxTargets];
+        spawnTime = new long[maxTargets];
+        expiry = new TimingWheel.Timer[maxTargets];
+        denseIndex = new int[maxTargets];
+        live = new int[maxTargets];
+        free = new int[maxTargets];
+
+        grid = new TargetGrid(screenWidth, screenHeight,
+                TargetGrid.cellSizeFor(screenWidth, screenHeight, maxTargets,
+                        TARGETS_PER_CELL, MIN_CELL_SIZE, MAX_CELL_SIZE),
+                maxTargets);
+
+        // Lowest slot on top, so a single target always uses slot 0
+        for (int i = 0; i < maxTargets; i++) {
+            free[i] = maxTargets - 1 - i;
+
+            int slot = i;
+            expiry[i] = new TimingWheel.Timer(deadline -> remove(slot, true));
+        }
+        freeCount = maxTargets;
+    }
+
+    /**
+     * Spawns into free slots, respecting the spawn interval. now is simulation
+     * time in milliseconds; targets whose lifetime is up despawn when the
+     * timing wheel is advanced past it.
+     */
+    public void update(long now) {
+        if (spawnIntervalMs == 0) {
+            while (freeCount > 0) {
+                spawn(now);
+            }
+        } else if (freeCount > 0 && (!spawnedYet || now - lastSpawnMs >= spawnIntervalMs)) {
+            spawn(now);
+        }
     }
 
-    public void update() {
-        long now = System.currentTimeMillis();
+    private void spawn(long now) {
+        int slot = free[--freeCount];
 
-        if (!active) {
-            spawnCat(now);
-        } else if (now - spawnTime >= ACTIVE_DURATION_MS) {
-            despawnCat();
+        x[slot] = random.nextInt(screenWidth - SPRITE_SIZE);
+        y[slot] = random.nextInt(screenHeight - SPRITE_SIZE);
+        spawnTime[slot] = now;
+        timers.scheduleAt(expiry[slot], now + lifetimeMs);
+
+        denseIndex[slot] = count;
+        live[count++] = slot;
+        grid.insert(slot, x[slot], y[slot]);
+
+        lastSpawnMs = now;
+        spawnedYet = true;
+
+        SpawnEvent event = new SpawnEvent();
+        if (event.shouldCommit()) {
+            event.slot = slot;
+            event.x = x[slot];
+            event.y = y[slot];
+            event.simulationTimeMs = now;
+            event.liveTargets = count;
+            event.commit();
         }
     }
 
-    private void spawnCat(long now) {
-        double x = random.nextInt(screenWidth - 64);
-        double y = random.nextInt(screenHeight - 64);
+    /**
+     * Removes a live target, e.g. when it is captured or its lifetime is up.
+     * Its slot may be reused by the next spawn.
+     */
+    public void despawn(int slot) {
+        remove(slot, false);
+    }
+
+    private void remove(int slot, boolean expired) {
+        if (!isLive(slot)) {
+            return;
+        }
+        timers.cancel(expiry[slot]);
+
+        // Move the last live slot into the hole
+        int index = denseIndex[slot];
+        int last = live[--count];
+        live[index] = last;
+        denseIndex[last] = index;
+        denseIndex[slot] = -1;
 
-        currentCat = new Cat(x, y);
-        beacon = new AudioBeacon(x, y);
+        free[freeCount++] = slot;
+        grid.remove(slot);
 
-        spawnTime = now;
-        active = true;
+        DespawnEvent event = new DespawnEvent();
+        if (event.shouldCommit()) {
+            event.slot = slot;
+            event.expired = expired;
+            event.ageMs = timers.now() - spawnTime[slot];
+            event.liveTargets = count;
+            event.commit();
+        }
+    }
+
+    /**
+     * Moves a live target (and its beacon).
+     */
+    public void move(int slot, double newX, double newY) {
+        if (!isLive(slot)) {
+            return;
+        }
+        x[slot] = newX;
+        y[slot] = newY;
+        grid.move(slot, newX, newY);
+    }
+
+    public void despawnAll() {
+        while (count > 0) {
+            despawn(live[count - 1]);
+        }
+    }
+
+    public boolean isLive(int slot) {
+        return slot >= 0 && slot < maxTargets && denseIndex[slot] >= 0
+                && denseIndex[slot] < count && live[denseIndex[slot]] == slot;
+    }
+
+    /**
+     * Number of live targets.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The slot of the i-th live target, 0 <= i < getCount(). The order changes
+     * when targets despawn.
+     */
+    public int getSlot(int i) {
+        return live[i];
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public long getSpawnTime(int slot) {
+        return spawnTime[slot];
+    }
+
+    public long getExpiresAt(int slot) {
+        return expiry[slot].getDeadline();
     }
 
-    private void despawnCat() {
-        currentCat = null;
-        beacon = null;
-        active = false;
+    /**
+     * Spatial index over the live targets; read-only for callers.
+     */
+    public TargetGrid getGrid() {
+        return grid;
     }
 
-    public Cat getCat() {
-        return currentCat;
+    public int getMaxTargets() {
+        return maxTargets;
     }
 
-    public AudioBeacon getBeacon() {
-        return beacon;
+    public long getSpawnIntervalMs() {
+        return spawnIntervalMs;
     }
-    public void despawnNow() {
-        currentCat = null;
-        beacon = null;
-        active = false;
+
+    public long getLifetimeMs() {
+        return lifetimeMs;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    public int getScreenHeight() {
+        return screenHeight;
     }
 
     public boolean isActive() {
-        return active;
+        return count > 0;
     }
 }
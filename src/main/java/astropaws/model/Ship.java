@@ -1,11 +1,5 @@
 package astropaws.model;
 
-import java.awt.*;
-import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
-
 public class Ship {
     private Vector2D position;
     private Vector2D velocity;
@@ -15,36 +9,51 @@ public class Ship {
     private double maxSpeed = 12.0;
     private double friction = 0.3;
 
-    private BufferedImage shipImage;
-    private static final int SHIP_WIDTH = 70;
-    private static final int SHIP_HEIGHT = 70;
+    // State at the start of the current tick, so renderers can interpolate
+    private double prevX;
+    private double prevY;
+    private double prevAngle;
 
-    // Ship shape points (triangle pointing up) - fallback if image doesn't load
-    private int[] xPoints = {0, -15, 15};
-    private int[] yPoints = {-20, 20, 20};
+    // Forward vector cache, recomputed only when angle changes
+    private double forwardX;
+    private double forwardY;
+    private double forwardAngle = Double.NaN;
 
     public Ship(double x, double y) {
         this.position = new Vector2D(x, y);
         this.velocity = new Vector2D(0, 0);
         this.angle = -Math.PI; // pointing up
-
-        // Load ship image
-        try {
-            shipImage = ImageIO.read(
-                    getClass().getResourceAsStream("/images/ship.png")
-            );
-            System.out.println("Ship image loaded successfully!");
-        } catch (IOException e) {
-            System.err.println("Could not load ship image: " + e.getMessage());
-            shipImage = null;
-        }
+        storePreviousState();
     }
 
     public Vector2D getForwardVector() {
-        double visualAngle = angle + Math.PI / 2.0; // MUST match render()
-        Vector2D v = new Vector2D(Math.cos(visualAngle), Math.sin(visualAngle));
-        v.normalize();
-        return v;
+        return getForwardVector(new Vector2D());
+    }
+
+    // Writes the unit forward vector into out and returns it (no allocation)
+    public Vector2D getForwardVector(Vector2D out) {
+        updateForward();
+        return out.set(forwardX, forwardY);
+    }
+
+    public double getForwardX() {
+        updateForward();
+        return forwardX;
+    }
+
+    public double getForwardY() {
+        updateForward();
+        return forwardY;
+    }
+
+    private void updateForward() {
+        if (angle == forwardAngle) return;
+
+        // cos/sin of one angle is already unit length, no normalize needed
+        double visualAngle = angle + Math.PI / 2.0; // MUST match SpriteLayer.drawShip() and DebugLayer
+        forwardX = Math.cos(visualAngle);
+        forwardY = Math.sin(visualAngle);
+        forwardAngle = angle;
     }
 
     public void rotateLeft() {
@@ -65,9 +74,9 @@ public class Ship {
 
 
     public void thrust() {
-        Vector2D fwd = getForwardVector();
-        velocity.x = fwd.x * maxSpeed;
-        velocity.y = fwd.y * maxSpeed;
+        updateForward();
+        velocity.x = forwardX * maxSpeed;
+        velocity.y = forwardY * maxSpeed;
     }
 
     public void update(int screenWidth, int screenHeight) {
@@ -75,7 +84,7 @@ public class Ship {
         velocity.multiply(friction);
 
         // Stop completely if velocity is tiny
-        if (velocity.magnitude() < 0.05) {
+        if (velocity.magnitudeSquared() < 0.05 * 0.05) {
             velocity.x = 0;
             velocity.y = 0;
         }
@@ -90,28 +99,10 @@ public class Ship {
         if (position.y > screenHeight) position.y = 0;
     }
 
-    public void render(Graphics2D g) {
-        AffineTransform old = g.getTransform();
-
-        // Translate to ship position and rotate
-        g.translate(position.x, position.y);
-        g.rotate(angle + Math.PI / 2); // +90 degrees to point ship correctly
-
-        if (shipImage != null) {
-            // Draw ship image
-            g.drawImage(shipImage,
-                    -SHIP_WIDTH / 2, -SHIP_HEIGHT / 2,
-                    SHIP_WIDTH, SHIP_HEIGHT, null);
-        } else {
-            // Draw fallback triangle if image doesn't load
-            g.setColor(Color.WHITE);
-            g.fillPolygon(xPoints, yPoints, 3);
-            g.setColor(new Color(100, 149, 237));
-            g.setStroke(new BasicStroke(2));
-            g.drawPolygon(xPoints, yPoints, 3);
-        }
-
-        g.setTransform(old);
+    public void storePreviousState() {
+        prevX = position.x;
+        prevY = position.y;
+        prevAngle = angle;
     }
 
     // Getters
@@ -126,4 +117,16 @@ public class Ship {
     public double getAngle() {
         return angle;
     }
+
+    public double getPreviousX() {
+        return prevX;
+    }
+
+    public double getPreviousY() {
+        return prevY;
+    }
+
+    public double getPreviousAngle() {
+        return prevAngle;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,535 @@
+package astropaws.model;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Uniform grid over target positions on the wrapping screen: the world is a
+ * torus of width x height, like Ship.update() makes it, so a target just
+ * across the left edge is near a ship at the right edge. Distances and
+ * directions are to the nearest wrapped image of each target (see wrapX/wrapY).
+ *
+ * Entries are keyed by the spawner's slot numbers. Each cell is an intrusive
+ * doubly linked list threaded through per-slot int arrays, so insert, move
+ * and remove are O(1) and allocate nothing. Queries write slots into a
+ * caller-supplied array.
+ */
+public final class TargetGrid {
+
+    private static final int NONE = -1;
+
+    // At or below this many entries a plain scan of the dense list beats walking cells
+    private static final int LINEAR_SCAN_MAX = 16;
+
+    private final double width;
+    private final double height;
+    private final double halfWidth;
+    private final double halfHeight;
+    private final int cols;
+    private final int rows;
+    private final double cellWidth;
+    private final double cellHeight;
+
+    // Per cell: first slot in the cell's list
+    private final int[] head;
+
+    // Per slot
+    private final double[] x;
+    private final double[] y;
+    private final int[] cellOf;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] denseIndex;
+
+    // All stored slots, dense[0..size)
+    private final int[] dense;
+    private int size;
+
+    // k-nearest scratch: best distances so far, parallel to the caller's out array
+    private double[] bestDistSq = new double[0];
+
+    /**
+     * @param cellSize roughly the cell edge in pixels; cells are stretched
+     *                 slightly so a whole number of them tiles the screen
+     * @param capacity slots 0..capacity-1 can be stored
+     */
+    public TargetGrid(double width, double height, double cellSize, int capacity) {
+        if (width <= 0 || height <= 0 || cellSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid grid: " + width + "x" + height + ", cell " + cellSize);
+        }
+        this.width = width;
+        this.height = height;
+        this.halfWidth = width / 2;
+        this.halfHeight = height / 2;
+        this.cols = Math.max(1, (int) (width / cellSize));
+        this.rows = Math.max(1, (int) (height / cellSize));
+        this.cellWidth = width / cols;
+        this.cellHeight = height / rows;
+
+        head = new int[cols * rows];
+        Arrays.fill(head, NONE);
+
+        x = new double[capacity];
+        y = new double[capacity];
+        cellOf = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        denseIndex = new int[capacity];
+        dense = new int[capacity];
+        Arrays.fill(cellOf, NONE);
+    }
+
+    /**
+     * A cell edge that keeps about targetsPerCell entries per cell when the
+     * screen holds maxTargets, clamped to [minSize, maxSize].
+     */
+    public static double cellSizeFor(double width, double height, int maxTargets,
+                                     double targetsPerCell, double minSize, double maxSize) {
+        double size = Math.sqrt(width * height * targetsPerCell / Math.max(1, maxTargets));
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    // ---- Updates ----
+
+    public void insert(int slot, double px, double py) {
+        if (cellOf[slot] != NONE) {
+            move(slot, px, py);
+            return;
+        }
+        x[slot] = normalize(px, width);
+        y[slot] = normalize(py, height);
+        link(slot, cellIndex(x[slot], y[slot]));
+        denseIndex[slot] = size;
+        dense[size++] = slot;
+    }
+
+    /**
+     * Updates a stored position; only relinks when the cell changes.
+     */
+    public void move(int slot, double px, double py) {
+        if (cellOf[slot] == NONE) {
+            insert(slot, px, py);
+            return;
+        }
+        x[slot] = normalize(px, width);
+        y[slot] = normalize(py, height);
+        int cell = cellIndex(x[slot], y[slot]);
+        if (cell != cellOf[slot]) {
+            unlink(slot);
+            link(slot, cell);
+        }
+    }
+
+    public void remove(int slot) {
+        if (cellOf[slot] == NONE) {
+            return;
+        }
+        unlink(slot);
+        cellOf[slot] = NONE;
+
+        int last = dense[--size];
+        dense[denseIndex[slot]] = last;
+        denseIndex[last] = denseIndex[slot];
+    }
+
+    public void clear() {
+        Arrays.fill(head, NONE);
+        Arrays.fill(cellOf, NONE);
+        size = 0;
+    }
+
+    public boolean contains(int slot) {
+        return slot >= 0 && slot < cellOf.length && cellOf[slot] != NONE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void link(int slot, int cell) {
+        int first = head[cell];
+        next[slot] = first;
+        prev[slot] = NONE;
+        if (first != NONE) {
+            prev[first] = slot;
+        }
+        head[cell] = slot;
+        cellOf[slot] = cell;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NONE) {
+            next[p] = n;
+        } else {
+            head[cellOf[slot]] = n;
+        }
+        if (n != NONE) {
+            prev[n] = p;
+        }
+    }
+
+    private int cellIndex(double px, double py) {
+        return row(py) * cols + col(px);
+    }
+
+    private int col(double px) {
+        int c = (int) Math.floor(px / cellWidth);
+        return c >= 0 && c < cols ? c : wrapCol(c);
+    }
+
+    private int row(double py) {
+        int r = (int) Math.floor(py / cellHeight);
+        return r >= 0 && r < rows ? r : wrapRow(r);
+    }
+
+    // ---- Wrapping ----
+
+    /**
+     * The shortest horizontal offset equivalent to dx on the wrapping screen.
+     */
+    public double wrapX(double dx) {
+        return wrap(dx, width, halfWidth);
+    }
+
+    public double wrapY(double dy) {
+        return wrap(dy, height, halfHeight);
+    }
+
+    private static double wrap(double d, double period, double half) {
+        // Differences of on-screen positions need at most one correction
+        if (d > half) {
+            d -= period;
+        } else if (d < -half) {
+            d += period;
+        }
+        if (d > half || d < -half) {
+            // Off-screen input: fall back to the remainder
+            d %= period;
+            if (d > half) d -= period;
+            else if (d < -half) d += period;
+        }
+        return d;
+    }
+
+    private double distSq(int slot, double px, double py) {
+        double dx = wrapX(x[slot] - px);
+        double dy = wrapY(y[slot] - py);
+        return dx * dx + dy * dy;
+    }
+
+    // Cell offsets from the query cell that name distinct cells: cols of them, centred on 0
+    private int minColOffset() {
+        return -((cols - 1) / 2);
+    }
+
+    private int maxColOffset() {
+        return cols / 2;
+    }
+
+    private int minRowOffset() {
+        return -((rows - 1) / 2);
+    }
+
+    private int maxRowOffset() {
+        return rows / 2;
+    }
+
+    // ---- Queries ----
+
+    /**
+     * The slot nearest (px, py), or -1 if the grid is empty.
+     */
+    public int nearest(double px, double py) {
+        if (size == 0) return NONE;
+        if (size <= LINEAR_SCAN_MAX) return nearestLinear(px, py);
+
+        int qc = col(px);
+        int qr = row(py);
+        int maxRing = Math.max(Math.max(maxColOffset(), -minColOffset()), Math.max(maxRowOffset(), -minRowOffset()));
+        double cellMin = Math.min(cellWidth, cellHeight);
+
+        int best = NONE;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            int rowLo = Math.max(-ring, minRowOffset());
+            int rowHi = Math.min(ring, maxRowOffset());
+            int colLo = Math.max(-ring, minColOffset());
+            int colHi = Math.min(ring, maxColOffset());
+
+            for (int oy = rowLo; oy <= rowHi; oy++) {
+                boolean edgeRow = oy == -ring || oy == ring;
+                // Inner rows only touch the ring's left and right columns
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int ox = edgeRow ? colLo : -ring; ox <= colHi; ox += step) {
+                    if (ox < colLo) continue;
+                    int cell = wrapRow(qr + oy) * cols + wrapCol(qc + ox);
+                    for (int s = head[cell]; s != NONE; s = next[s]) {
+                        double d = distSq(s, px, py);
+                        if (d < bestSq) {
+                            bestSq = d;
+                            best = s;
+                        }
+                    }
+                }
+            }
+
+            // Anything in a later ring is at least ring cells away
+            double bound = scannedBound(px, py, qc, qr, ring, cellMin);
+            if (best != NONE && bestSq <= bound * bound) break;
+        }
+        return best;
+    }
+
+    private int nearestLinear(double px, double py) {
+        int best = NONE;
+        double bestSq = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            int s = dense[i];
+            double d = distSq(s, px, py);
+            if (d < bestSq) {
+                bestSq = d;
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A lower bound on the distance from (px, py) to anything outside rings
+     * 0..ring: the distance to the nearest edge of the scanned block of cells.
+     */
+    private double scannedBound(double px, double py, int qc, int qr, int ring, double cellMin) {
+        // Position inside the query cell (px may sit exactly on the wrap edge)
+        double inX = px - qc * cellWidth;
+        double inY = py - qr * cellHeight;
+        // Near half a period the far edges are closer through the wrap: fall back to whole rings
+        if (inX < 0 || inX > cellWidth || inY < 0 || inY > cellHeight
+                || 2 * ring + 4 > cols || 2 * ring + 4 > rows) {
+            return ring * cellMin;
+        }
+        double left = inX + ring * cellWidth;
+        double right = (cellWidth - inX) + ring * cellWidth;
+        double top = inY + ring * cellHeight;
+        double bottom = (cellHeight - inY) + ring * cellHeight;
+        return Math.min(Math.min(left, right), Math.min(top, bottom));
+    }
+
+    /**
+     * Writes up to min(k, out.length) slots nearest (px, py) into out, nearest
+     * first. Returns how many were written.
+     */
+    public int kNearest(double px, double py, int k, int[] out) {
+        k = Math.min(k, out.length);
+        if (k <= 0 || size == 0) return 0;
+        if (bestDistSq.length < k) {
+            bestDistSq = new double[Math.max(k, bestDistSq.length * 2)];
+        }
+
+        int qc = col(px);
+        int qr = row(py);
+        int maxRing = Math.max(Math.max(maxColOffset(), -minColOffset()), Math.max(maxRowOffset(), -minRowOffset()));
+        double cellMin = Math.min(cellWidth, cellHeight);
+
+        int found = 0;
+        if (size <= LINEAR_SCAN_MAX) {
+            for (int i = 0; i < size; i++) {
+                found = offer(dense[i], distSq(dense[i], px, py), out, found, k);
+            }
+            return found;
+        }
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            int rowLo = Math.max(-ring, minRowOffset());
+            int rowHi = Math.min(ring, maxRowOffset());
+            int colLo = Math.max(-ring, minColOffset());
+            int colHi = Math.min(ring, maxColOffset());
+
+            for (int oy = rowLo; oy <= rowHi; oy++) {
+                boolean edgeRow = oy == -ring || oy == ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int ox = edgeRow ? colLo : -ring; ox <= colHi; ox += step) {
+                    if (ox < colLo) continue;
+                    int cell = wrapRow(qr + oy) * cols + wrapCol(qc + ox);
+                    for (int s = head[cell]; s != NONE; s = next[s]) {
+                        found = offer(s, distSq(s, px, py), out, found, k);
+                    }
+                }
+            }
+
+            double bound = scannedBound(px, py, qc, qr, ring, cellMin);
+            if (found == k && bestDistSq[k - 1] <= bound * bound) break;
+        }
+        return found;
+    }
+
+    // Insertion into the sorted best-k list
+    private int offer(int slot, double d, int[] out, int found, int k) {
+        if (found == k && d >= bestDistSq[k - 1]) return found;
+
+        int i = found < k ? found++ : k - 1;
+        while (i > 0 && bestDistSq[i - 1] > d) {
+            bestDistSq[i] = bestDistSq[i - 1];
+            out[i] = out[i - 1];
+            i--;
+        }
+        bestDistSq[i] = d;
+        out[i] = slot;
+        return found;
+    }
+
+    /**
+     * Writes the slots within radius of (px, py) into out, in no particular
+     * order. Returns the total number found, which may exceed out.length
+     * (only the first out.length are written).
+     */
+    public int withinRadius(double px, double py, double radius, int[] out) {
+        return cone(px, py, 0, 0, radius, null, out);
+    }
+
+    /**
+     * Slots within maxRange of (px, py) whose direction is inside the cone
+     * around the unit vector (fx, fy): dot(forward, direction) must exceed
+     * minDotForDistance(distance), e.g. GameSimulation.dynamicAlignThreshold.
+     * Output as for withinRadius.
+     */
+    public int inCone(double px, double py, double fx, double fy, double maxRange,
+                      DoubleUnaryOperator minDotForDistance, int[] out) {
+        return cone(px, py, fx, fy, maxRange, minDotForDistance, out);
+    }
+
+    private int cone(double px, double py, double fx, double fy, double radius,
+                     DoubleUnaryOperator minDot, int[] out) {
+        if (size == 0 || radius < 0) return 0;
+
+        // Same point inside the screen, so cell rectangles line up with it
+        px = normalize(px, width);
+        py = normalize(py, height);
+
+        int qc = col(px);
+        int qr = row(py);
+        // A partial cell on each side of the query cell
+        int colLo = Math.max(-(int) Math.ceil(radius / cellWidth), minColOffset());
+        int colHi = Math.min((int) Math.ceil(radius / cellWidth), maxColOffset());
+        int rowLo = Math.max(-(int) Math.ceil(radius / cellHeight), minRowOffset());
+        int rowHi = Math.min((int) Math.ceil(radius / cellHeight), maxRowOffset());
+        double radiusSq = radius * radius;
+
+        int found = 0;
+        if (size <= LINEAR_SCAN_MAX) {
+            for (int i = 0; i < size; i++) {
+                int s = dense[i];
+                if (inside(wrapX(x[s] - px), wrapY(y[s] - py), fx, fy, radiusSq, minDot)) {
+                    if (found < out.length) {
+                        out[found] = s;
+                    }
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        // Unless the range covers every column (or row), each cell is seen once
+        // at a known image offset: no per-target wrap, and cells wholly outside
+        // the circle can be skipped
+        boolean shiftX = colHi - colLo + 1 < cols;
+        boolean shiftY = rowHi - rowLo + 1 < rows;
+
+        for (int oy = rowLo; oy <= rowHi; oy++) {
+            int rawRow = qr + oy;
+            int row = wrapRow(rawRow);
+            double offsetY = (rawRow - row) * cellHeight;
+            double gapY = shiftY ? gap(py, rawRow * cellHeight, cellHeight) : 0.0;
+            if (gapY * gapY > radiusSq) continue;
+
+            int rowBase = row * cols;
+            for (int ox = colLo; ox <= colHi; ox++) {
+                int rawCol = qc + ox;
+                int col = wrapCol(rawCol);
+                double offsetX = (rawCol - col) * cellWidth;
+                double gapX = shiftX ? gap(px, rawCol * cellWidth, cellWidth) : 0.0;
+                if (gapX * gapX + gapY * gapY > radiusSq) continue;
+
+                for (int s = head[rowBase + col]; s != NONE; s = next[s]) {
+                    double dx = shiftX ? x[s] + offsetX - px : wrapX(x[s] - px);
+                    double dy = shiftY ? y[s] + offsetY - py : wrapY(y[s] - py);
+                    if (!inside(dx, dy, fx, fy, radiusSq, minDot)) continue;
+
+                    if (found < out.length) {
+                        out[found] = s;
+                    }
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean inside(double dx, double dy, double fx, double fy,
+                                  double radiusSq, DoubleUnaryOperator minDot) {
+        double dSq = dx * dx + dy * dy;
+        if (dSq > radiusSq) return false;
+        if (minDot == null) return true;
+
+        double d = Math.sqrt(dSq);
+        // Standing on it: the direction is undefined, treat as dot 0 like the simulation does
+        double dot = d > 0.0 ? (fx * dx + fy * dy) / d : 0.0;
+        return dot > minDot.applyAsDouble(d);
+    }
+
+    // The equivalent coordinate in [0, period)
+    private static double normalize(double p, double period) {
+        if (p >= 0 && p < period) return p;
+        p -= Math.floor(p / period) * period;
+        return p < period ? p : 0.0;
+    }
+
+    // Distance from p to the interval [start, start + length] along one axis
+    private static double gap(double p, double start, double length) {
+        if (p < start) return start - p;
+        if (p > start + length) return p - start - length;
+        return 0.0;
+    }
+
+    // Query offsets stay within one period, so a compare beats a division
+    private int wrapCol(int c) {
+        if (c < 0) c += cols;
+        else if (c >= cols) c -= cols;
+        if (c < 0 || c >= cols) {
+            c %= cols;
+            if (c < 0) c += cols;
+        }
+        return c;
+    }
+
+    private int wrapRow(int r) {
+        if (r < 0) r += rows;
+        else if (r >= rows) r -= rows;
+        if (r < 0 || r >= rows) {
+            r %= rows;
+            if (r < 0) r += rows;
+        }
+        return r;
+    }
+
+    /**
+     * The stored position, wrapped into [0, width) x [0, height).
+     */
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+}
@@ -13,6 +13,16 @@ public class Vector2D {
         this(0, 0);
     }
 
+    public Vector2D set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    public Vector2D set(Vector2D other) {
+        return set(other.x, other.y);
+    }
+
     public void add(Vector2D other) {
         this.x += other.x;
         this.y += other.y;
@@ -27,6 +37,32 @@ public class Vector2D {
         return Math.sqrt(x * x + y * y);
     }
 
+    public double magnitudeSquared() {
+        return x * x + y * y;
+    }
+
+    public double dot(double ox, double oy) {
+        return x * ox + y * oy;
+    }
+
+    public double dot(Vector2D other) {
+        return dot(other.x, other.y);
+    }
+
+    public double distanceSquared(double ox, double oy) {
+        double dx = ox - x;
+        double dy = oy - y;
+        return dx * dx + dy * dy;
+    }
+
+    public double distanceSquared(Vector2D other) {
+        return distanceSquared(other.x, other.y);
+    }
+
+    public double distance(Vector2D other) {
+        return Math.sqrt(distanceSquared(other));
+    }
+
     public void limit(double max) {
         if (magnitude() > max) {
             normalize();
@@ -43,9 +79,14 @@ public class Vector2D {
     }
 
     public Vector2D normalized() {
+        return normalized(new Vector2D());
+    }
+
+    // Writes the unit vector into out and returns it (no allocation)
+    public Vector2D normalized(Vector2D out) {
         double mag = magnitude();
-        if (mag == 0) return new Vector2D(0, 0);
-        return new Vector2D(x / mag, y / mag);
+        if (mag == 0) return out.set(0, 0);
+        return out.set(x / mag, y / mag);
     }
 
 
@@ -0,0 +1,11 @@
+package astropaws.simulation;
+
+/**
+ * One-shot sounds the simulation asks the audio layer to play this tick.
+ */
+public enum AudioCue {
+    RANGE_ENTRY,   // ship just entered capture range (meow)
+    ALIGNED,       // ship rotated onto the target (meow)
+    CAPTURE_SHOT,  // SPACE pressed, always audible (whoosh)
+    CAPTURED       // delayed reward after a successful capture (kaching)
+}
@@ -0,0 +1,47 @@
+package astropaws.simulation;
+
+import astropaws.model.AnimalSpawner;
+import astropaws.model.Ship;
+
+/**
+ * Simple bot that steers the ship onto the current target and fires when
+ * aligned and in range. Used for headless soak runs; it only reads state the
+ * simulation already exposes.
+ */
+public class Autopilot {
+
+    private final GameSimulation simulation;
+
+    public Autopilot(GameSimulation simulation) {
+        this.simulation = simulation;
+    }
+
+    public void fill(InputState input, FrameResult lastFrame) {
+        input.clear();
+
+        int target = simulation.nearestTarget();
+        if (target < 0) return;
+        AnimalSpawner spawner = simulation.getSpawner();
+
+        Ship ship = simulation.getShip();
+        double fx = ship.getForwardX();
+        double fy = ship.getForwardY();
+        // The short way round the wrapping screen, as the simulation measures it
+        double dx = spawner.getGrid().wrapX(spawner.getX(target) - ship.getPosition().x);
+        double dy = spawner.getGrid().wrapY(spawner.getY(target) - ship.getPosition().y);
+
+        // Cross product sign says which way to turn (screen y points down)
+        double cross = fx * dy - fy * dx;
+        boolean aligned = lastFrame.targetActive && lastFrame.aligned;
+
+        if (!aligned) {
+            if (cross > 0) input.right = true;
+            else input.left = true;
+        } else if (!lastFrame.inRange) {
+            input.thrust = true;
+        } else {
+            // Release every other tick so each press is a fresh edge
+            input.shoot = lastFrame.scoreEvent == ScoreEvent.NONE;
+        }
+    }
+}
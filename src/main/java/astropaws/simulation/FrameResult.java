@@ -0,0 +1,55 @@
+package astropaws.simulation;
+
+/**
+ * Everything one simulation step produced: cues to play, listener and beacon
+ * parameters, and capture results. GameSimulation reuses a single instance,
+ * so read it before the next step.
+ */
+public class FrameResult {
+
+    private final boolean[] cues = new boolean[AudioCue.values().length];
+
+    // False when no target is spawned: beacon should be silent, nothing else below is valid
+    public boolean targetActive;
+
+    // Listener (ship), in pixels
+    public double listenerX;
+    public double listenerY;
+    public double listenerVelX;
+    public double listenerVelY;
+    public double forwardX;
+    public double forwardY;
+
+    // Beacon source, in pixels
+    public double sourceX;
+    public double sourceY;
+    public float beaconPitch;
+    public float beaconGain;
+
+    // Alignment
+    public double distance;
+    public double dot;
+    public double alignThreshold;
+    public boolean aligned;
+    public boolean inRange;
+
+    // Capture attempt outcome
+    public ScoreEvent scoreEvent = ScoreEvent.NONE;
+    public int score;
+
+    public boolean hasCue(AudioCue cue) {
+        return cues[cue.ordinal()];
+    }
+
+    void addCue(AudioCue cue) {
+        cues[cue.ordinal()] = true;
+    }
+
+    void reset() {
+        for (int i = 0; i < cues.length; i++) {
+            cues[i] = false;
+        }
+        targetActive = false;
+        scoreEvent = ScoreEvent.NONE;
+    }
+}
@@ -0,0 +1,459 @@
+package astropaws.simulation;
+
+import astropaws.diagnostics.CaptureAttemptEvent;
+import astropaws.diagnostics.PhaseTimer;
+import astropaws.model.AnimalSpawner;
+import astropaws.model.Ship;
+import astropaws.model.TargetGrid;
+import astropaws.model.Vector2D;
+import astropaws.time.TimingWheel;
+
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The game rules without a window or a sound card: alignment, sticky rotation,
+ * capture range and capture attempts. Each step takes the input for one tick
+ * and reports what should be heard through a FrameResult.
+ *
+ * Time is simulation time, advanced only by step(), so it can run faster or
+ * slower than real time.
+ *
+ * With several live targets, each tick tracks the one nearest the ship: its
+ * beacon is the one heard and aimed at. A capture shot takes the tracked
+ * target, or else the nearest other target inside the alignment cone.
+ *
+ * The screen wraps, so distances and directions are to the nearest wrapped
+ * image of a target (TargetGrid.wrapX/wrapY), and the beacon is placed there.
+ *
+ * Anything that happens after a delay (the kaching after a capture, the end
+ * of the capture cooldown, target expiry, the in-range pulse period) is a
+ * timer on one TimingWheel in simulation milliseconds, advanced once per step.
+ */
+public class GameSimulation {
+
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    // Capture tuning
+    public static final double CAPTURE_DISTANCE_PX = 200.0;
+    private static final long CAPTURE_COOLDOWN_MS = 400;
+    private static final long KACHING_DELAY_MS = 200;
+
+    // Sticky precision rotation
+    private static final double STICKY_ROTATION_MULTIPLIER = 0.25;
+
+    // Distance-adaptive alignment thresholds:
+    // Far away = strict, close = forgiving
+    private static final double ALIGN_DOT_FAR = 0.995;
+    private static final double ALIGN_DOT_NEAR = 0.970;
+    private static final double ALIGN_NEAR_DIST = 120.0;
+    private static final double ALIGN_FAR_DIST = 600.0;
+    private static final DoubleUnaryOperator ALIGN_THRESHOLD = GameSimulation::dynamicAlignThreshold;
+
+    // Initial room for cone hits when the tracked target isn't capturable; grows as needed
+    private static final int INITIAL_CAPTURE_CANDIDATES = 32;
+
+    // Range feedback tuning
+    private static final float RANGE_BOOST_PITCH = 1.12f;
+    private static final float RANGE_BOOST_GAIN = 1.35f;
+    private static final long RANGE_PULSE_PERIOD_MS = 650;
+    private static final float RANGE_PULSE_DEPTH = 0.35f;
+
+    private final int width;
+    private final int height;
+
+    private final Ship ship;
+    private final AnimalSpawner spawner;
+    private final FrameResult result = new FrameResult();
+    private int[] captureCandidates = new int[INITIAL_CAPTURE_CANDIDATES];
+
+    private final TimingWheel timers;
+    private final TimingWheel.Timer kachingTimer = new TimingWheel.Timer(this::onKaching);
+    private final TimingWheel.Timer cooldownTimer = new TimingWheel.Timer(this::onCooldownOver);
+    private final TimingWheel.Timer pulseTimer = new TimingWheel.Timer(this::onPulsePeriod);
+
+    // Slot of the target tracked this tick, or -1
+    private int targetSlot = -1;
+
+    private long timeNanos = 0;
+
+    private double lastAngle;
+    private double rotationAccumulator = 0.0;
+
+    private boolean hasLastShipPos = false;
+    private double lastShipX;
+    private double lastShipY;
+
+    private boolean prevShootPressed = false;
+    private boolean captureReady = true;
+
+    // Start of the current range pulse period
+    private long pulseStartMs = 0;
+
+    private int score = 0;
+
+    // Optional: times the spawn and timer pass of each step
+    private PhaseTimer spawnerTimer;
+
+    // Range state for one-time cue
+    private boolean wasInRangeLastFrame = false;
+
+    /**
+     * Target count and timing from -Dastropaws.targets, -Dastropaws.spawnIntervalMs
+     * and -Dastropaws.targetLifetimeMs; the defaults are one target at a time.
+     * The spawn seed is -Dastropaws.seed, or random.
+     */
+    public GameSimulation(int width, int height) {
+        this(width, height, new TimingWheel(),
+                Long.getLong("astropaws.seed", new Random().nextLong()));
+    }
+
+    private GameSimulation(int width, int height, TimingWheel timers, long seed) {
+        this(width, height, timers, new AnimalSpawner(width, height,
+                Integer.getInteger("astropaws.targets", AnimalSpawner.DEFAULT_MAX_TARGETS),
+                Long.getLong("astropaws.spawnIntervalMs", AnimalSpawner.DEFAULT_SPAWN_INTERVAL_MS),
+                Long.getLong("astropaws.targetLifetimeMs", AnimalSpawner.DEFAULT_LIFETIME_MS),
+                seed, timers));
+    }
+
+    /**
+     * @param timers  a fresh wheel at time 0, which the spawner schedules on too
+     */
+    public GameSimulation(int width, int height, TimingWheel timers, AnimalSpawner spawner) {
+        this.width = width;
+        this.height = height;
+        this.timers = timers;
+        this.spawner = spawner;
+
+        ship = new Ship(width / 2.0, height / 2.0);
+        lastAngle = ship.getAngle();
+
+        timers.scheduleAt(pulseTimer, RANGE_PULSE_PERIOD_MS);
+    }
+
+    public static double dynamicAlignThreshold(double distancePx) {
+        if (distancePx <= ALIGN_NEAR_DIST) return ALIGN_DOT_NEAR;
+        if (distancePx >= ALIGN_FAR_DIST) return ALIGN_DOT_FAR;
+
+        double t = (distancePx - ALIGN_NEAR_DIST) / (ALIGN_FAR_DIST - ALIGN_NEAR_DIST); // 0..1
+        return ALIGN_DOT_NEAR + (ALIGN_DOT_FAR - ALIGN_DOT_NEAR) * t;
+    }
+
+    /**
+     * How closely the ship faces a target, from the dot product: [-1..1] -> [0..1].
+     */
+    public static double alignment(double dot) {
+        double clampedDot = Math.max(-1.0, Math.min(1.0, dot));
+        return (clampedDot + 1.0) / 2.0;
+    }
+
+    // Beacon guidance: higher and louder the better the ship is aligned
+    public static float beaconPitch(double dot) {
+        return (float) (0.6 + 1.0 * alignment(dot));   // 0.6 .. 1.6
+    }
+
+    public static float beaconGain(double dot) {
+        return (float) (0.04 + 0.10 * alignment(dot));  // 0.04 .. 0.14
+    }
+
+    /**
+     * Advances the game by dtNanos. The returned result is reused by the next call.
+     */
+    public FrameResult step(InputState input, long dtNanos) {
+        timeNanos += dtNanos;
+        long nowMs = timeNanos / NANOS_PER_MS;
+
+        result.reset();
+        result.score = score;
+
+        ship.storePreviousState();
+
+        // Spawn, then run what's due: delayed kaching, cooldown end, expiries
+        long spawnStart = spawnerTimer != null ? spawnerTimer.start() : 0L;
+        spawner.update(nowMs);
+        timers.advance(nowMs);
+        if (spawnerTimer != null) {
+            spawnerTimer.stop(spawnStart);
+        }
+
+        // Pick the target to track
+        targetSlot = nearestTarget();
+
+        // No target: reset tracking + range state
+        if (targetSlot < 0) {
+            hasLastShipPos = false;
+            prevShootPressed = input.shoot;
+            wasInRangeLastFrame = false;
+            return result;
+        }
+
+        result.targetActive = true;
+        double targetX = spawner.getX(targetSlot);
+        double targetY = spawner.getY(targetSlot);
+
+        // Pre-dot to decide sticky rotation BEFORE changing angle
+        TargetGrid grid = spawner.getGrid();
+        double dx0 = grid.wrapX(targetX - ship.getPosition().x);
+        double dy0 = grid.wrapY(targetY - ship.getPosition().y);
+        double dist0 = Math.sqrt(dx0 * dx0 + dy0 * dy0);
+
+        double toCatX0 = dx0;
+        double toCatY0 = dy0;
+        if (dist0 > 0.0) {
+            toCatX0 /= dist0;
+            toCatY0 /= dist0;
+        }
+
+        double dot0 = ship.getForwardX() * toCatX0 + ship.getForwardY() * toCatY0;
+
+        double alignThreshold0 = dynamicAlignThreshold(dist0);
+        boolean alignedForSticky = dot0 > alignThreshold0;
+
+        // Input: rotation (sticky if aligned), thrust
+        if (alignedForSticky) {
+            if (input.left) ship.rotateLeft(STICKY_ROTATION_MULTIPLIER);
+            if (input.right) ship.rotateRight(STICKY_ROTATION_MULTIPLIER);
+        } else {
+            if (input.left) ship.rotateLeft();
+            if (input.right) ship.rotateRight();
+        }
+
+        if (input.thrust) {
+            ship.thrust();
+        }
+
+        // Movement update AFTER inputs
+        ship.update(width, height);
+
+        // Track rotation amount (for alignment meow trigger)
+        double currentAngle = ship.getAngle();
+        double delta = Math.abs(currentAngle - lastAngle);
+        if (delta > Math.PI) delta = (2.0 * Math.PI) - delta;
+        rotationAccumulator += delta;
+        lastAngle = currentAngle;
+
+        // Listener velocity (Doppler)
+        Vector2D shipPos = ship.getPosition();
+        if (!hasLastShipPos) {
+            result.listenerVelX = 0.0;
+            result.listenerVelY = 0.0;
+        } else {
+            double dt = dtNanos > 0 ? dtNanos / 1_000_000_000.0 : 0.001;
+            result.listenerVelX = (shipPos.x - lastShipX) / dt;
+            result.listenerVelY = (shipPos.y - lastShipY) / dt;
+        }
+        lastShipX = shipPos.x;
+        lastShipY = shipPos.y;
+        hasLastShipPos = true;
+
+        // Recompute forward/dot/distance AFTER rotation + movement
+        double forwardX = ship.getForwardX();
+        double forwardY = ship.getForwardY();
+
+        double dx = grid.wrapX(targetX - ship.getPosition().x);
+        double dy = grid.wrapY(targetY - ship.getPosition().y);
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        double toCatX = dx;
+        double toCatY = dy;
+        if (distance > 0.0) {
+            toCatX /= distance;
+            toCatY /= distance;
+        }
+
+        double dot = forwardX * toCatX + forwardY * toCatY;
+
+        double alignThreshold = dynamicAlignThreshold(distance);
+        boolean alignedNow = dot > alignThreshold;
+
+        boolean inRangeNow = distance <= CAPTURE_DISTANCE_PX;
+
+        // One-time range entry cue
+        if (inRangeNow && !wasInRangeLastFrame) {
+            result.addCue(AudioCue.RANGE_ENTRY);
+        }
+        wasInRangeLastFrame = inRangeNow;
+
+        result.listenerX = ship.getPosition().x;
+        result.listenerY = ship.getPosition().y;
+        result.forwardX = forwardX;
+        result.forwardY = forwardY;
+
+        // The nearest wrapped image, so the beacon sounds from the short way round
+        result.sourceX = ship.getPosition().x + dx;
+        result.sourceY = ship.getPosition().y + dy;
+
+        result.distance = distance;
+        result.dot = dot;
+        result.alignThreshold = alignThreshold;
+        result.aligned = alignedNow;
+        result.inRange = inRangeNow;
+
+        // Beacon guidance modulation by alignment
+        float pitch = beaconPitch(dot);
+        float gain = beaconGain(dot);
+
+        // In-range cue: boost pitch/gain and pulse gain smoothly
+        if (inRangeNow) {
+            pitch = pitch * RANGE_BOOST_PITCH;
+
+            double phase = (nowMs - pulseStartMs) / (double) RANGE_PULSE_PERIOD_MS; // 0..1
+            double pulse01 = 0.5 - 0.5 * Math.cos(2.0 * Math.PI * phase); // 0..1
+            float pulseFactor = (float) ((1.0 - RANGE_PULSE_DEPTH) + RANGE_PULSE_DEPTH * pulse01);
+
+            gain = gain * RANGE_BOOST_GAIN * pulseFactor;
+        }
+
+        result.beaconPitch = pitch;
+        result.beaconGain = gain;
+
+        // Alignment meow trigger (rotate + aligned using dynamic threshold)
+        if (rotationAccumulator > Math.toRadians(10.0) && alignedNow) {
+            result.addCue(AudioCue.ALIGNED);
+            rotationAccumulator = 0.0;
+        }
+
+        // Capture on SPACE (edge-triggered + cooldown)
+        boolean shootJustPressed = input.shoot && !prevShootPressed;
+        prevShootPressed = input.shoot;
+
+        if (shootJustPressed && captureReady) {
+            captureReady = false;
+            timers.schedule(cooldownTimer, CAPTURE_COOLDOWN_MS);
+
+            // Always play whoosh so SPACE always has feedback
+            result.addCue(AudioCue.CAPTURE_SHOT);
+
+            boolean tracked = alignedNow && inRangeNow;
+            int captured = tracked ? targetSlot : captureInCone(forwardX, forwardY);
+
+            CaptureAttemptEvent event = new CaptureAttemptEvent();
+            if (event.shouldCommit()) {
+                if (captured >= 0 && !tracked) {
+                    // Caught something other than the tracked target: record that one
+                    double cx = grid.wrapX(grid.getX(captured) - ship.getPosition().x);
+                    double cy = grid.wrapY(grid.getY(captured) - ship.getPosition().y);
+                    double capturedDistance = Math.sqrt(cx * cx + cy * cy);
+                    double capturedDot = capturedDistance > 0.0
+                            ? (forwardX * cx + forwardY * cy) / capturedDistance
+                            : 0.0;
+                    event.distance = capturedDistance;
+                    event.dot = capturedDot;
+                    event.threshold = dynamicAlignThreshold(capturedDistance);
+                    event.aligned = capturedDot > event.threshold;
+                } else {
+                    event.aligned = alignedNow;
+                    event.dot = dot;
+                    event.distance = distance;
+                    event.threshold = alignThreshold;
+                }
+                event.outcome = captured < 0 ? CaptureAttemptEvent.MISSED
+                        : tracked ? CaptureAttemptEvent.CAPTURED : CaptureAttemptEvent.CAPTURED_IN_CONE;
+                event.simulationTimeMs = nowMs;
+                event.commit();
+            }
+
+            if (captured >= 0) {
+                timers.schedule(kachingTimer, KACHING_DELAY_MS);
+
+                score++;
+                result.score = score;
+                result.scoreEvent = ScoreEvent.CAPTURED;
+
+                spawner.despawn(captured);
+            } else {
+                result.scoreEvent = ScoreEvent.MISSED;
+            }
+        }
+
+        return result;
+    }
+
+    // Timer actions, run from timers.advance() inside step()
+
+    private void onKaching(long deadline) {
+        result.addCue(AudioCue.CAPTURED);
+    }
+
+    private void onCooldownOver(long deadline) {
+        captureReady = true;
+    }
+
+    private void onPulsePeriod(long deadline) {
+        pulseStartMs = deadline;
+        timers.scheduleAt(pulseTimer, deadline + RANGE_PULSE_PERIOD_MS);
+    }
+
+    /**
+     * The live target nearest the ship on the wrapping screen, or -1 if there is none.
+     */
+    public int nearestTarget() {
+        return spawner.getGrid().nearest(ship.getPosition().x, ship.getPosition().y);
+    }
+
+    // Nearest target that is in capture range and inside the alignment cone, or -1
+    private int captureInCone(double forwardX, double forwardY) {
+        TargetGrid grid = spawner.getGrid();
+        double shipX = ship.getPosition().x;
+        double shipY = ship.getPosition().y;
+
+        int found = grid.inCone(shipX, shipY, forwardX, forwardY,
+                CAPTURE_DISTANCE_PX, ALIGN_THRESHOLD, captureCandidates);
+
+        // Hits come in cell order, so the nearest may be past the end: grow and ask again
+        if (found > captureCandidates.length) {
+            captureCandidates = new int[Math.max(found, captureCandidates.length * 2)];
+            found = grid.inCone(shipX, shipY, forwardX, forwardY,
+                    CAPTURE_DISTANCE_PX, ALIGN_THRESHOLD, captureCandidates);
+        }
+
+        int best = -1;
+        double bestDistSq = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < found; i++) {
+            int slot = captureCandidates[i];
+            double dx = grid.wrapX(grid.getX(slot) - shipX);
+            double dy = grid.wrapY(grid.getY(slot) - shipY);
+            double distSq = dx * dx + dy * dy;
+            if (distSq < bestDistSq) {
+                bestDistSq = distSq;
+                best = slot;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The slot of the target tracked by the last step, or -1. It may have been
+     * captured during that step.
+     */
+    public int getTargetSlot() {
+        return targetSlot;
+    }
+
+    public Ship getShip() {
+        return ship;
+    }
+
+    public AnimalSpawner getSpawner() {
+        return spawner;
+    }
+
+    public TimingWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Times the spawner and timing wheel part of every step; null to stop.
+     */
+    public void setSpawnerTimer(PhaseTimer timer) {
+        spawnerTimer = timer;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public long getTimeNanos() {
+        return timeNanos;
+    }
+}
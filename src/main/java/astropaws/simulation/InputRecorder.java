@@ -0,0 +1,172 @@
+package astropaws.simulation;
+
+import astropaws.model.AnimalSpawner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes what a GameSimulation needs to replay a game exactly: its spawner
+ * setup and seed, then the input and timestep of every tick.
+ *
+ * File layout (little-endian):
+ * <pre>
+ * header: int MAGIC, int VERSION, long seed, int width, int height,
+ *         int maxTargets, long spawnIntervalMs, long lifetimeMs
+ * runs:   byte flags, [varint dtNanos if DT_CHANGED], varint ticks
+ * </pre>
+ * A run is a stretch of ticks with the same input and timestep; flags holds
+ * the four input bits. Input changes a few times a second at most, so an
+ * hour at 60 Hz is tens of kilobytes, and a tick where nothing changed only
+ * increments a counter.
+ *
+ * Bytes collect in a direct buffer and go to a FileChannel when it fills and
+ * on close(). record() and close() may be called from different threads
+ * (the game loop and a shutdown hook).
+ */
+public final class InputRecorder implements Closeable {
+
+    static final int MAGIC = 0x4C525041; // "APRL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 44;
+
+    static final int LEFT = 1;
+    static final int RIGHT = 1 << 1;
+    static final int THRUST = 1 << 2;
+    static final int SHOOT = 1 << 3;
+    static final int DT_CHANGED = 1 << 4;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    // Largest run record: flags + two 10-byte varints
+    private static final int MAX_RECORD_BYTES = 21;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Current run, not yet written
+    private int runInput = -1;
+    private long runDtNanos;
+    private long runTicks;
+    private long writtenDtNanos = -1;
+
+    private long ticks;
+    private boolean closed;
+
+    /**
+     * Creates or truncates file and writes the header for simulation, which
+     * should not have stepped yet.
+     */
+    public InputRecorder(Path file, GameSimulation simulation) throws IOException {
+        this.file = file;
+        channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        AnimalSpawner spawner = simulation.getSpawner();
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putLong(spawner.getSeed())
+                .putInt(spawner.getScreenWidth()).putInt(spawner.getScreenHeight())
+                .putInt(spawner.getMaxTargets())
+                .putLong(spawner.getSpawnIntervalMs())
+                .putLong(spawner.getLifetimeMs());
+    }
+
+    /**
+     * Records one tick: the input it was stepped with and its length. Errors
+     * are reported once and stop the recording; the game carries on.
+     */
+    public synchronized void record(InputState input, long dtNanos) {
+        if (closed) return;
+
+        int bits = (input.left ? LEFT : 0)
+                | (input.right ? RIGHT : 0)
+                | (input.thrust ? THRUST : 0)
+                | (input.shoot ? SHOOT : 0);
+
+        ticks++;
+        if (bits == runInput && dtNanos == runDtNanos) {
+            runTicks++;
+            return;
+        }
+
+        try {
+            writeRun();
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        runInput = bits;
+        runDtNanos = dtNanos;
+        runTicks = 1;
+    }
+
+    public synchronized long getTicks() {
+        return ticks;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the last run and closes the file. Later record() calls are ignored.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            writeRun();
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeRun() throws IOException {
+        if (runTicks == 0) return;
+        if (buffer.remaining() < MAX_RECORD_BYTES) {
+            drain();
+        }
+
+        boolean dtChanged = runDtNanos != writtenDtNanos;
+        buffer.put((byte) (runInput | (dtChanged ? DT_CHANGED : 0)));
+        if (dtChanged) {
+            putVarint(runDtNanos);
+            writtenDtNanos = runDtNanos;
+        }
+        putVarint(runTicks);
+        runTicks = 0;
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void fail(IOException e) {
+        System.err.println("Input recording to " + file + " stopped: " + e);
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package astropaws.simulation;
+
+import astropaws.model.AnimalSpawner;
+import astropaws.time.TimingWheel;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a recording made by InputRecorder. The file is memory-mapped and
+ * decoded one run at a time, so replaying allocates nothing per tick.
+ *
+ * <pre>
+ * InputReplay replay = InputReplay.open(file);
+ * GameSimulation simulation = replay.createSimulation();
+ * while (replay.next(input)) simulation.step(input, replay.getDtNanos());
+ * </pre>
+ */
+public final class InputReplay {
+
+    private final MappedByteBuffer data;
+
+    private final long seed;
+    private final int width;
+    private final int height;
+    private final int maxTargets;
+    private final long spawnIntervalMs;
+    private final long lifetimeMs;
+
+    private int runInput;
+    private long runTicks;
+    private long dtNanos = -1;
+    private long ticks;
+
+    private InputReplay(MappedByteBuffer data) throws IOException {
+        this.data = data;
+        data.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (data.remaining() < InputRecorder.HEADER_BYTES || data.getInt() != InputRecorder.MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = data.getInt();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+
+        seed = data.getLong();
+        width = data.getInt();
+        height = data.getInt();
+        maxTargets = data.getInt();
+        spawnIntervalMs = data.getLong();
+        lifetimeMs = data.getLong();
+    }
+
+    public static InputReplay open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new InputReplay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * A fresh simulation set up as the recorded one was.
+     */
+    public GameSimulation createSimulation() {
+        TimingWheel timers = new TimingWheel();
+        AnimalSpawner spawner = new AnimalSpawner(width, height, maxTargets, spawnIntervalMs, lifetimeMs, seed, timers);
+        return new GameSimulation(width, height, timers, spawner);
+    }
+
+    /**
+     * Fills input for the next tick and makes its length available through
+     * getDtNanos(). Returns false at the end of the recording.
+     */
+    public boolean next(InputState input) throws IOException {
+        if (runTicks == 0 && !readRun()) {
+            return false;
+        }
+        runTicks--;
+        ticks++;
+
+        input.set(
+                (runInput & InputRecorder.LEFT) != 0,
+                (runInput & InputRecorder.RIGHT) != 0,
+                (runInput & InputRecorder.THRUST) != 0,
+                (runInput & InputRecorder.SHOOT) != 0
+        );
+        return true;
+    }
+
+    private boolean readRun() throws IOException {
+        if (!data.hasRemaining()) {
+            return false;
+        }
+        int flags = data.get() & 0xFF;
+        if ((flags & InputRecorder.DT_CHANGED) != 0) {
+            dtNanos = getVarint();
+        }
+        runTicks = getVarint();
+        if (dtNanos <= 0 || runTicks <= 0) {
+            throw new IOException("Corrupt recording at byte " + data.position());
+        }
+        runInput = flags & (InputRecorder.DT_CHANGED - 1);
+        return true;
+    }
+
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!data.hasRemaining()) {
+                throw new IOException("Truncated recording");
+            }
+            byte b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt recording at byte " + data.position());
+    }
+
+    public long getDtNanos() {
+        return dtNanos;
+    }
+
+    /**
+     * Ticks returned by next() so far.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
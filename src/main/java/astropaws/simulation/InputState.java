@@ -0,0 +1,23 @@
+package astropaws.simulation;
+
+/**
+ * Player input sampled for one simulation tick.
+ * Plain data so it can come from Swing, a bot or a replay log.
+ */
+public class InputState {
+    public boolean left;
+    public boolean right;
+    public boolean thrust;
+    public boolean shoot;
+
+    public void set(boolean left, boolean right, boolean thrust, boolean shoot) {
+        this.left = left;
+        this.right = right;
+        this.thrust = thrust;
+        this.shoot = shoot;
+    }
+
+    public void clear() {
+        set(false, false, false, false);
+    }
+}
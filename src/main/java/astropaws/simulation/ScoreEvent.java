@@ -0,0 +1,7 @@
+package astropaws.simulation;
+
+public enum ScoreEvent {
+    NONE,
+    CAPTURED,
+    MISSED
+}
@@ -0,0 +1,27 @@
+package astropaws.time;
+
+/**
+ * Monotonic game time in nanoseconds. The game loop owns one clock, reads it
+ * once per iteration and hands that reading (or the fixed tick it implies) to
+ * everything else, so a tick never sees two different "nows".
+ *
+ * realtime() follows System.nanoTime(); ScaledClock runs faster or slower than
+ * its source; ManualClock only moves when advanced, for tests and tools.
+ */
+@FunctionalInterface
+public interface GameClock {
+
+    long nanoTime();
+
+    /**
+     * Game nanoseconds per real nanosecond, used to turn a wait in game time
+     * into a sleep; 0 for a clock that doesn't move on its own.
+     */
+    default double rate() {
+        return 1.0;
+    }
+
+    static GameClock realtime() {
+        return System::nanoTime;
+    }
+}
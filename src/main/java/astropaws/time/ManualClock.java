@@ -0,0 +1,38 @@
+package astropaws.time;
+
+/**
+ * A clock that only moves when told to, for stepping the game by exact
+ * amounts. Safe to read from other threads.
+ */
+public final class ManualClock implements GameClock {
+
+    private volatile long now;
+
+    public ManualClock() {
+        this(0);
+    }
+
+    public ManualClock(long startNanos) {
+        now = startNanos;
+    }
+
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    @Override
+    public double rate() {
+        return 0.0;
+    }
+
+    /**
+     * Moves the clock forward; a negative step would break monotonicity.
+     */
+    public void advance(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Clock can't go backwards: " + nanos);
+        }
+        now += nanos;
+    }
+}
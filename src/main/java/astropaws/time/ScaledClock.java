@@ -0,0 +1,65 @@
+package astropaws.time;
+
+/**
+ * Runs scale times as fast as a source clock: 0.25 for slow motion, 4 to fast
+ * forward, 0 to pause. Changing the scale re-anchors at the current reading,
+ * so game time never jumps or runs backwards.
+ *
+ * setScale() may be called from any thread; nanoTime() reads one immutable
+ * segment, so it never sees a half-updated scale.
+ */
+public final class ScaledClock implements GameClock {
+
+    private final GameClock source;
+    private volatile Segment segment;
+
+    // Game time is gameOrigin + (source - sourceOrigin) * scale
+    private static final class Segment {
+        final long sourceOrigin;
+        final long gameOrigin;
+        final double scale;
+
+        Segment(long sourceOrigin, long gameOrigin, double scale) {
+            this.sourceOrigin = sourceOrigin;
+            this.gameOrigin = gameOrigin;
+            this.scale = scale;
+        }
+
+        long at(long sourceNanos) {
+            return gameOrigin + (long) ((sourceNanos - sourceOrigin) * scale);
+        }
+    }
+
+    public ScaledClock(GameClock source, double scale) {
+        checkScale(scale);
+        this.source = source;
+        long now = source.nanoTime();
+        segment = new Segment(now, now, scale);
+    }
+
+    @Override
+    public long nanoTime() {
+        return segment.at(source.nanoTime());
+    }
+
+    @Override
+    public double rate() {
+        return segment.scale * source.rate();
+    }
+
+    public double getScale() {
+        return segment.scale;
+    }
+
+    public synchronized void setScale(double scale) {
+        checkScale(scale);
+        long sourceNow = source.nanoTime();
+        segment = new Segment(sourceNow, segment.at(sourceNow), scale);
+    }
+
+    private static void checkScale(double scale) {
+        if (!(scale >= 0.0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Invalid time scale: " + scale);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package astropaws.time;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel for game-time events: delayed cues, cooldowns,
+ * entity lifetimes. Time is a long in whatever unit the owner advances it by
+ * (GameSimulation uses simulation milliseconds) and only moves in advance(),
+ * once per tick.
+ *
+ * There are LEVELS wheels of 64 slots each; level l holds timers due within
+ * 64^(l+1) units of now, bucketed by bits [6l, 6l+6) of their deadline. When
+ * time crosses a level-l slot boundary, that slot's timers are redistributed
+ * into the levels below, so each timer moves at most LEVELS-1 times before it
+ * fires. Every level keeps a 64-bit occupancy mask, so advance() jumps straight
+ * to the next occupied slot instead of visiting empty ones.
+ *
+ * schedule and cancel are O(1). An advance() over one tick costs a few mask
+ * tests plus the timers that fire or cascade; it doesn't depend on how many
+ * are pending. Skipping over a long stretch still stops once per 64 units
+ * while any timer is pending.
+ *
+ * Timers are reusable objects created up front, so nothing allocates while
+ * scheduling. Not thread safe; the simulation thread owns it.
+ */
+public final class TimingWheel {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final long MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    /**
+     * Longest delay schedule() accepts: under one turn of the top wheel
+     * (63 * 2^30 units, about 787 days in ms).
+     */
+    public static final long MAX_DELAY = (MASK << (BITS * (LEVELS - 1))) - 1;
+
+    private final Timer[] buckets = new Timer[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS];
+
+    private long now;
+    private int size;
+
+    /**
+     * A reusable timer. Its action gets the deadline it was scheduled for,
+     * which is what now() reads while it runs.
+     */
+    public static final class Timer {
+
+        private final LongConsumer action;
+
+        private long deadline;
+        private int bucket = -1;
+        private Timer prev;
+        private Timer next;
+
+        public Timer(LongConsumer action) {
+            this.action = action;
+        }
+
+        public boolean isScheduled() {
+            return bucket >= 0;
+        }
+
+        /**
+         * When it fires, or last fired if it isn't scheduled.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    public TimingWheel() {
+        this(0);
+    }
+
+    public TimingWheel(long start) {
+        now = start;
+    }
+
+    /**
+     * Schedules timer to fire delay units from now; a timer that is already
+     * scheduled is moved. A delay of 0 or less fires on the next advance().
+     */
+    public void schedule(Timer timer, long delay) {
+        scheduleAt(timer, now + Math.max(delay, 1));
+    }
+
+    /**
+     * Schedules timer at an absolute time; at or before now means on the next
+     * advance().
+     */
+    public void scheduleAt(Timer timer, long deadline) {
+        if (deadline <= now) {
+            deadline = now + 1;
+        }
+        if (deadline - now > MAX_DELAY) {
+            throw new IllegalArgumentException("Timer delay too long: " + (deadline - now));
+        }
+
+        cancel(timer);
+        timer.deadline = deadline;
+        place(timer);
+        size++;
+    }
+
+    /**
+     * Unschedules timer; does nothing if it isn't scheduled.
+     */
+    public void cancel(Timer timer) {
+        if (timer.bucket < 0) {
+            return;
+        }
+        unlink(timer);
+        size--;
+    }
+
+    /**
+     * Moves time forward to target, firing every timer due at or before it in
+     * deadline order (timers with the same deadline in no particular order).
+     * Actions may schedule and cancel timers, including their own.
+     */
+    public void advance(long target) {
+        while (now < target) {
+            if (size == 0) {
+                now = target;
+                return;
+            }
+
+            // Next occupied level-0 slot later in the current 64-unit block
+            int next = (int) (now & MASK) + 1;
+            long pending = next < SLOTS ? occupied[0] & (-1L << next) : 0L;
+            if (pending != 0) {
+                long due = (now & ~MASK) + Long.numberOfTrailingZeros(pending);
+                if (due > target) {
+                    now = target;
+                    return;
+                }
+                now = due;
+                fire((int) (due & MASK));
+                continue;
+            }
+
+            // Nothing left in this block: step to the next one, pulling
+            // timers down from the levels whose slot boundary it is
+            long boundary = (now | MASK) + 1;
+            if (boundary > target) {
+                now = target;
+                return;
+            }
+            now = boundary;
+            cascade();
+            if ((occupied[0] & 1L) != 0) {
+                fire(0);
+            }
+        }
+    }
+
+    /**
+     * The time advanced to, or the deadline of the timer currently firing.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Number of scheduled timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    // Level-1..n slots starting at now, highest level first so its timers can
+    // land in the lower slots that are cascaded next
+    private void cascade() {
+        int top = 1;
+        while (top + 1 < LEVELS && ((now >>> (BITS * top)) & MASK) == 0) {
+            top++;
+        }
+
+        for (int level = top; level >= 1; level--) {
+            int bucket = level * SLOTS + (int) ((now >>> (BITS * level)) & MASK);
+            Timer timer;
+            while ((timer = buckets[bucket]) != null) {
+                unlink(timer);
+                place(timer);
+            }
+        }
+    }
+
+    // Level-0 slot at now; taken one at a time so actions can cancel the rest
+    private void fire(int slot) {
+        Timer timer;
+        while ((timer = buckets[slot]) != null) {
+            unlink(timer);
+            size--;
+            timer.action.accept(timer.deadline);
+        }
+    }
+
+    // Lowest level whose slot range still contains the deadline, given now.
+    // Deadlines past the top level's range wrap round its slots; MAX_DELAY
+    // keeps them from reaching now's slot before they are in range.
+    private void place(Timer timer) {
+        long differing = timer.deadline ^ now;
+        int level = differing == 0 ? 0 : (63 - Long.numberOfLeadingZeros(differing)) / BITS;
+        level = Math.min(level, LEVELS - 1);
+        int slot = (int) ((timer.deadline >>> (BITS * level)) & MASK);
+        int bucket = level * SLOTS + slot;
+
+        Timer head = buckets[bucket];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[bucket] = timer;
+        timer.bucket = bucket;
+        occupied[level] |= 1L << slot;
+    }
+
+    private void unlink(Timer timer) {
+        int bucket = timer.bucket;
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[bucket] = timer.next;
+            if (timer.next == null) {
+                occupied[bucket / SLOTS] &= ~(1L << (bucket % SLOTS));
+            }
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.bucket = -1;
+    }
+}
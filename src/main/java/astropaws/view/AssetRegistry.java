@@ -0,0 +1,147 @@
+package astropaws.view;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decodes every sprite once and keeps it as a display-compatible image already
+ * scaled to its draw size, so drawing is a 1:1 blit and spawning an entity
+ * never touches ImageIO. Instances are shared; don't draw into them.
+ */
+public final class AssetRegistry {
+
+    public enum Sprite {
+        SHIP("/images/Ship.png", 70, 70, Transparency.TRANSLUCENT),
+        CAT("/images/Cat.png", 64, 64, Transparency.TRANSLUCENT),
+        BACKGROUND("/images/Space.png", GamePanel.WIDTH, GamePanel.HEIGHT, Transparency.OPAQUE);
+
+        public final String path;
+        public final int width;
+        public final int height;
+        private final int transparency;
+
+        Sprite(String path, int width, int height, int transparency) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.transparency = transparency;
+        }
+    }
+
+    // Ship frames pre-rendered per rotation; 0 disables the atlas (per-frame transform)
+    private static final int DEFAULT_SHIP_ROTATION_STEPS = 128;
+
+    // null value = tried and failed, so we don't retry every frame
+    private static final Map<Sprite, BufferedImage> images = new EnumMap<>(Sprite.class);
+
+    private static RotationAtlas shipAtlas;
+    private static boolean shipAtlasBuilt = false;
+
+    private AssetRegistry() {
+    }
+
+    /**
+     * Returns the shared, pre-scaled image, decoding it on first use.
+     * Returns null if the resource could not be loaded.
+     *
+     * Decoding happens outside the lock, so different sprites can be loaded
+     * in parallel (see StartupPipeline); if two threads race on the same one,
+     * the first result wins.
+     */
+    public static BufferedImage get(Sprite sprite) {
+        synchronized (images) {
+            if (images.containsKey(sprite)) {
+                return images.get(sprite);
+            }
+        }
+
+        BufferedImage image = load(sprite);
+        synchronized (images) {
+            if (images.containsKey(sprite)) {
+                return images.get(sprite);
+            }
+            images.put(sprite, image);
+            return image;
+        }
+    }
+
+    /**
+     * The ship sprite pre-rotated at -Dastropaws.shipRotationSteps angles (default 128).
+     * Returns null if the atlas is disabled or the ship image is missing.
+     */
+    public static synchronized RotationAtlas getShipAtlas() {
+        if (!shipAtlasBuilt) {
+            shipAtlasBuilt = true;
+
+            int steps = Integer.getInteger("astropaws.shipRotationSteps", DEFAULT_SHIP_ROTATION_STEPS);
+            BufferedImage ship = get(Sprite.SHIP);
+            if (steps > 0 && ship != null) {
+                shipAtlas = new RotationAtlas(ship, steps);
+            }
+        }
+        return shipAtlas;
+    }
+
+    public static void preloadAll() {
+        for (Sprite sprite : Sprite.values()) {
+            get(sprite);
+        }
+        getShipAtlas();
+    }
+
+    private static BufferedImage load(Sprite sprite) {
+        BufferedImage source;
+        try (InputStream is = AssetRegistry.class.getResourceAsStream(sprite.path)) {
+            if (is == null) {
+                System.err.println("Image not found: " + sprite.path);
+                return null;
+            }
+            source = ImageIO.read(is);
+        } catch (IOException e) {
+            System.err.println("Could not load image " + sprite.path + ": " + e.getMessage());
+            return null;
+        }
+        if (source == null) {
+            System.err.println("Unsupported image format: " + sprite.path);
+            return null;
+        }
+
+        BufferedImage target = createCompatibleImage(sprite.width, sprite.height, sprite.transparency);
+
+        // Scale once with good quality; every later draw is unscaled
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, sprite.width, sprite.height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * An image in the screen's native pixel layout (a managed image Java2D can
+     * cache in video memory), or a plain ARGB image when there is no display.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment
+                    .getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+
+        int type = transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB_PRE;
+        return new BufferedImage(width, height, type);
+    }
+}
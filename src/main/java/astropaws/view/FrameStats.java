@@ -0,0 +1,67 @@
+package astropaws.view;
+
+/**
+ * Frame timing for the active renderer: how long drawing + present took and
+ * how far each frame started from its deadline. Written by the render thread only.
+ */
+public class FrameStats {
+
+    private long windowStartNanos;
+
+    private long frames;
+    private long frameSumNanos;
+    private long frameMaxNanos;
+    private long latenessSumNanos;
+    private long latenessMaxNanos;
+
+    private volatile long lastFrameNanos;
+
+    public FrameStats() {
+        reset(System.nanoTime());
+    }
+
+    public void reset(long nowNanos) {
+        windowStartNanos = nowNanos;
+        frames = 0;
+        frameSumNanos = 0;
+        frameMaxNanos = 0;
+        latenessSumNanos = 0;
+        latenessMaxNanos = 0;
+    }
+
+    public void recordFrame(long frameNanos, long latenessNanos) {
+        frames++;
+        frameSumNanos += frameNanos;
+        if (frameNanos > frameMaxNanos) frameMaxNanos = frameNanos;
+
+        if (latenessNanos < 0) latenessNanos = 0;
+        latenessSumNanos += latenessNanos;
+        if (latenessNanos > latenessMaxNanos) latenessMaxNanos = latenessNanos;
+
+        lastFrameNanos = frameNanos;
+    }
+
+    // Draw + present time of the most recent frame; safe to read from any thread
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public long getWindowNanos(long nowNanos) {
+        return nowNanos - windowStartNanos;
+    }
+
+    public String summary(long nowNanos) {
+        double seconds = getWindowNanos(nowNanos) / 1_000_000_000.0;
+        if (seconds <= 0) seconds = 1e-9;
+        long n = Math.max(1, frames);
+
+        return String.format(
+                "render: %.1f frames/s, frame time mean=%.3fms max=%.3fms, start lateness mean=%.3fms max=%.3fms",
+                frames / seconds,
+                frameSumNanos / (double) n / 1_000_000.0,
+                frameMaxNanos / 1_000_000.0,
+                latenessSumNanos / (double) n / 1_000_000.0,
+                latenessMaxNanos / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,153 @@
+package astropaws.view;
+
+import astropaws.time.GameClock;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Active rendering: a Canvas with a page-flipping BufferStrategy, drawn by its
+ * own render thread at a fixed frame rate. The game loop only publishes
+ * snapshots; frame pacing is decided here, not by the Swing repaint manager.
+ */
+public class GameCanvas extends Canvas implements GameView {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int DEFAULT_FRAME_RATE = 60;
+    private static final long STATS_PERIOD_NANOS = 5 * NANOS_PER_SECOND;
+
+    private final SceneRenderer renderer;
+    private final FrameStats stats = new FrameStats();
+    private final int frameRate = Integer.getInteger("astropaws.frameRate", DEFAULT_FRAME_RATE);
+    private final boolean logStats = Boolean.getBoolean("astropaws.loopStats");
+
+    // Frame pacing is real time; interpolation uses the game loop's clock
+    private volatile GameClock clock = GameClock.realtime();
+
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+    private volatile boolean running;
+    private Thread renderThread;
+
+    public GameCanvas() {
+        setPreferredSize(new Dimension(GamePanel.WIDTH, GamePanel.HEIGHT));
+        setFocusable(true);
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+
+        AssetRegistry.preloadAll();
+        renderer = new SceneRenderer();
+    }
+
+    @Override
+    public Component getComponent() {
+        return this;
+    }
+
+    @Override
+    public SceneRenderer getRenderer() {
+        return renderer;
+    }
+
+    @Override
+    public SnapshotExchange getSnapshots() {
+        return snapshots;
+    }
+
+    @Override
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void present(double alpha) {
+        // The render thread paces itself
+    }
+
+    public FrameStats getFrameStats() {
+        return stats;
+    }
+
+    @Override
+    public void start() {
+        if (running) return;
+
+        createBufferStrategy(2);
+        running = true;
+
+        renderThread = new Thread(this::renderLoop, "RenderThread");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (renderThread != null) {
+            renderThread.interrupt();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        requestFocusInWindow();
+    }
+
+    private void renderLoop() {
+        long frameNanos = NANOS_PER_SECOND / frameRate;
+        long deadline = System.nanoTime();
+        stats.reset(deadline);
+
+        while (running) {
+            long start = System.nanoTime();
+            long lateness = start - deadline;
+
+            renderFrame();
+
+            long end = System.nanoTime();
+            stats.recordFrame(end - start, lateness);
+
+            if (logStats && stats.getWindowNanos(end) >= STATS_PERIOD_NANOS) {
+                System.out.println(stats.summary(end));
+                stats.reset(end);
+            }
+
+            // Next deadline on a fixed grid; if we fell a whole frame behind, skip ahead
+            deadline += frameNanos;
+            if (end - deadline > frameNanos) {
+                deadline = end;
+            }
+
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+    }
+
+    private void renderFrame() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) return;
+
+        RenderSnapshot current = snapshots.latest();
+        double alpha = current != null ? current.alphaAt(clock.nanoTime()) : 1.0;
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderer.render(g, current, alpha);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -1,54 +1,64 @@
 package astropaws.view;
 
-import astropaws.model.*;
-
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.IOException;
 
-public class GamePanel extends JPanel {
+/**
+ * Passive-rendering fallback: the game loop asks Swing to repaint and the EDT
+ * draws the latest snapshot whenever it gets to it.
+ */
+public class GamePanel extends JPanel implements GameView {
+
+    private static final long serialVersionUID = 1L;
 
     public static final int WIDTH = 800;
     public static final int HEIGHT = 600;
 
-    private Ship ship;
-    private Cat cat;
-    private BufferedImage backgroundImage;
+    private final SceneRenderer renderer;
 
-    // DEBUG DATA FROM CONTROLLER
-    private double beaconX;
-    private double beaconY;
-    private double dotProduct;
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+
+    // Fraction of a tick elapsed since the last simulation step (0..1)
+    private volatile double interpolationAlpha = 1.0;
 
     public GamePanel() {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setFocusable(true);
 
-        try {
-            backgroundImage = ImageIO.read(
-                    getClass().getResourceAsStream("/images/Space.png")
-            );
-        } catch (IOException e) {
-            backgroundImage = null;
-        }
+        // Decode and pre-scale every sprite up front, off the game thread's spawn path
+        AssetRegistry.preloadAll();
+        renderer = new SceneRenderer();
+    }
+
+    @Override
+    public Component getComponent() {
+        return this;
+    }
+
+    @Override
+    public SceneRenderer getRenderer() {
+        return renderer;
+    }
+
+    @Override
+    public SnapshotExchange getSnapshots() {
+        return snapshots;
     }
 
-    public void setShip(Ship ship) {
-        this.ship = ship;
+    @Override
+    public void present(double alpha) {
+        this.interpolationAlpha = alpha;
+        repaint();
     }
 
-    public void setCat(Cat cat) {
-        this.cat = cat;
+    @Override
+    public void start() {
     }
 
-    // CALLED EVERY FRAME
-    public void setDebugData(double bx, double by, double dot) {
-        this.beaconX = bx;
-        this.beaconY = by;
-        this.dotProduct = dot;
+    @Override
+    public void stop() {
     }
+
     @Override
     public void addNotify() {
         super.addNotify();
@@ -58,57 +68,6 @@ public class GamePanel extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-
-        g2d.setRenderingHint(
-                RenderingHints.KEY_ANTIALIASING,
-                RenderingHints.VALUE_ANTIALIAS_ON
-        );
-
-        if (backgroundImage != null) {
-            g2d.drawImage(backgroundImage, 0, 0, WIDTH, HEIGHT, null);
-        }
-
-        if (cat != null) cat.render(g2d);
-        if (ship != null) ship.render(g2d);
-
-        if (ship != null && cat != null) {
-            drawDebugLines(g2d);
-        }
-    }
-
-    private void drawDebugLines(Graphics2D g2d) {
-
-        float shipX = (float) ship.getPosition().x;
-        float shipY = (float) ship.getPosition().y;
-
-        float catX = (float) beaconX;
-        float catY = (float) beaconY;
-
-        // Ship → Cat line
-        g2d.setColor(Color.LIGHT_GRAY);
-        g2d.drawLine(
-                (int) shipX, (int) shipY,
-                (int) catX, (int) catY
-        );
-
-        // Ship forward vector
-        Vector2D fwd = ship.getForwardVector();
-        float fx = (float) fwd.x;
-        float fy = (float) fwd.y;
-
-        int len = 50;
-        int endX = (int) (shipX + fx * len);
-        int endY = (int) (shipY + fy * len);
-
-
-        g2d.setColor(dotProduct > 0.995 ? Color.GREEN : Color.RED);
-        g2d.drawLine(
-                (int) shipX, (int) shipY,
-                endX, endY
-        );
-
-        g2d.setStroke(new BasicStroke(2));
-
+        renderer.render((Graphics2D) g, snapshots.latest(), interpolationAlpha);
     }
 }
@@ -0,0 +1,43 @@
+package astropaws.view;
+
+import astropaws.time.GameClock;
+
+import java.awt.Component;
+
+/**
+ * Where frames end up. The game loop publishes a snapshot through
+ * getSnapshots() every tick and calls present() after each batch of ticks;
+ * implementations decide when to draw.
+ */
+public interface GameView {
+
+    Component getComponent();
+
+    SceneRenderer getRenderer();
+
+    /**
+     * The exchange the game loop publishes into; the view's drawing thread
+     * is its only reader.
+     */
+    SnapshotExchange getSnapshots();
+
+    /**
+     * The clock snapshots are stamped with, for views that work out their own
+     * interpolation alpha. Set before start().
+     */
+    default void setClock(GameClock clock) {
+    }
+
+    /**
+     * Called by the game loop after it ran one or more ticks.
+     * alpha: fraction of a tick elapsed since the last published snapshot.
+     */
+    void present(double alpha);
+
+    /**
+     * Called once the component is displayable.
+     */
+    void start();
+
+    void stop();
+}
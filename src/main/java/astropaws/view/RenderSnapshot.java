@@ -0,0 +1,120 @@
+package astropaws.view;
+
+/**
+ * Copy of everything a frame needs, written by the game loop once per tick.
+ * Renderers only ever read snapshots, never the live model, so they can run
+ * on any thread.
+ *
+ * The game loop reuses a few snapshots through a SnapshotExchange instead of
+ * allocating one per tick; a snapshot is only written while it is the
+ * exchange's back buffer, so whatever a renderer holds stays unchanged.
+ */
+public final class RenderSnapshot {
+
+    public static final double[] NO_TARGETS = new double[0];
+
+    // Ship at the start and end of the tick, for interpolation
+    public double prevShipX;
+    public double prevShipY;
+    public double prevShipAngle;
+    public double shipX;
+    public double shipY;
+    public double shipAngle;
+
+    // The tracked target
+    public boolean targetVisible;
+    public double catX;
+    public double catY;
+
+    // Every live target (including the tracked one) as x, y pairs in
+    // targets[0..targetCount * 2); the array is reused and may be longer
+    public double[] targets = NO_TARGETS;
+    public int targetCount;
+
+    // Debug data
+    public double beaconX;
+    public double beaconY;
+    public double dot;
+
+    // When the tick was published and how long a tick is, both on the game
+    // loop's clock, so a free-running renderer can work out its own
+    // interpolation alpha
+    public long publishedNanos;
+    public long tickNanos;
+
+    RenderSnapshot() {
+    }
+
+    public RenderSnapshot(
+            double prevShipX, double prevShipY, double prevShipAngle,
+            double shipX, double shipY, double shipAngle,
+            boolean targetVisible, double catX, double catY,
+            double beaconX, double beaconY, double dot,
+            long publishedNanos, long tickNanos
+    ) {
+        this(prevShipX, prevShipY, prevShipAngle, shipX, shipY, shipAngle,
+                targetVisible, catX, catY,
+                targetVisible ? new double[]{catX, catY} : NO_TARGETS,
+                beaconX, beaconY, dot, publishedNanos, tickNanos);
+    }
+
+    public RenderSnapshot(
+            double prevShipX, double prevShipY, double prevShipAngle,
+            double shipX, double shipY, double shipAngle,
+            boolean targetVisible, double catX, double catY, double[] targets,
+            double beaconX, double beaconY, double dot,
+            long publishedNanos, long tickNanos
+    ) {
+        set(prevShipX, prevShipY, prevShipAngle, shipX, shipY, shipAngle,
+                targetVisible, catX, catY, beaconX, beaconY, dot, publishedNanos, tickNanos);
+        this.targets = targets;
+        this.targetCount = targets.length / 2;
+    }
+
+    /**
+     * Overwrites everything but the targets (see targetBuffer).
+     */
+    public void set(
+            double prevShipX, double prevShipY, double prevShipAngle,
+            double shipX, double shipY, double shipAngle,
+            boolean targetVisible, double catX, double catY,
+            double beaconX, double beaconY, double dot,
+            long publishedNanos, long tickNanos
+    ) {
+        this.prevShipX = prevShipX;
+        this.prevShipY = prevShipY;
+        this.prevShipAngle = prevShipAngle;
+        this.shipX = shipX;
+        this.shipY = shipY;
+        this.shipAngle = shipAngle;
+        this.targetVisible = targetVisible;
+        this.catX = catX;
+        this.catY = catY;
+        this.beaconX = beaconX;
+        this.beaconY = beaconY;
+        this.dot = dot;
+        this.publishedNanos = publishedNanos;
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Sets the target count and returns the array to write count x, y pairs
+     * into, grown only when count exceeds every count before it.
+     */
+    public double[] targetBuffer(int count) {
+        if (targets.length < count * 2) {
+            targets = new double[Math.max(count * 2, targets.length * 2)];
+        }
+        targetCount = count;
+        return targets;
+    }
+
+    /**
+     * Interpolation alpha for a frame drawn at nowNanos (0 = start of tick, 1 = end).
+     */
+    public double alphaAt(long nowNanos) {
+        if (tickNanos <= 0) return 1.0;
+        double alpha = (nowNanos - publishedNanos) / (double) tickNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+}
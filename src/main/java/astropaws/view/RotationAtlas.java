@@ -0,0 +1,74 @@
+package astropaws.view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A sprite pre-rendered at a fixed number of evenly spaced angles, so drawing
+ * a rotated sprite is an untransformed blit of the closest frame instead of an
+ * AffineTransform + filtered drawImage every frame.
+ *
+ * Every frame is a square big enough to hold the sprite at any angle, with the
+ * sprite's center at the frame's center.
+ */
+public class RotationAtlas {
+
+    private static final double TWO_PI = 2.0 * Math.PI;
+
+    private final BufferedImage[] frames;
+    private final int size;
+    private final double step;
+
+    public RotationAtlas(BufferedImage sprite, int steps) {
+        if (steps <= 0) {
+            throw new IllegalArgumentException("Rotation steps must be positive: " + steps);
+        }
+
+        int w = sprite.getWidth();
+        int h = sprite.getHeight();
+        this.size = (int) Math.ceil(Math.sqrt(w * w + h * h));
+        this.step = TWO_PI / steps;
+        this.frames = new BufferedImage[steps];
+
+        for (int i = 0; i < steps; i++) {
+            BufferedImage frame = AssetRegistry.createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+            Graphics2D g = frame.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.translate(size / 2.0, size / 2.0);
+                g.rotate(i * step);
+                g.drawImage(sprite, -w / 2, -h / 2, null);
+            } finally {
+                g.dispose();
+            }
+            frames[i] = frame;
+        }
+    }
+
+    /**
+     * The pre-rendered frame closest to the given rotation (radians, any range).
+     */
+    public BufferedImage frameFor(double angle) {
+        double normalized = angle % TWO_PI;
+        if (normalized < 0) normalized += TWO_PI;
+
+        int index = (int) Math.round(normalized / step);
+        if (index >= frames.length) index = 0;
+        return frames[index];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSteps() {
+        return frames.length;
+    }
+
+    // Worst-case angle error of frameFor(), in radians
+    public double getMaxAngleError() {
+        return step / 2.0;
+    }
+}
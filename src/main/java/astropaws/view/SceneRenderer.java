@@ -0,0 +1,72 @@
+package astropaws.view;
+
+import astropaws.diagnostics.FrameTiming;
+import astropaws.diagnostics.PhaseTimer;
+import astropaws.view.layers.BackgroundLayer;
+import astropaws.view.layers.DebugLayer;
+import astropaws.view.layers.RenderLayer;
+import astropaws.view.layers.SpriteLayer;
+import astropaws.view.layers.TimingGraphLayer;
+
+import java.awt.*;
+
+/**
+ * Composites the scene layers, back to front, for one RenderSnapshot.
+ * Shared by the Swing and active-rendering views.
+ */
+public class SceneRenderer {
+
+    private final BackgroundLayer background = new BackgroundLayer();
+    private final SpriteLayer sprites = new SpriteLayer();
+    private final DebugLayer debug = new DebugLayer(sprites);
+    private final TimingGraphLayer timingGraph = new TimingGraphLayer();
+
+    private final RenderLayer[] layers = {background, sprites, debug, timingGraph};
+
+    // Times every render() as the paint phase, on whichever thread draws
+    private volatile PhaseTimer paintTimer;
+
+    public void render(Graphics2D g2d, RenderSnapshot snapshot, double alpha) {
+        PhaseTimer timer = paintTimer;
+        long start = timer != null ? timer.start() : 0L;
+
+        for (RenderLayer layer : layers) {
+            layer.composite(g2d, snapshot, alpha, GamePanel.WIDTH, GamePanel.HEIGHT);
+        }
+
+        if (timer != null) {
+            timer.stop(start);
+        }
+    }
+
+    /**
+     * Records paint times into timing and lets the timing graph layer show it.
+     */
+    public void setFrameTiming(FrameTiming timing) {
+        paintTimer = timing.get(FrameTiming.Phase.PAINT);
+        timingGraph.setFrameTiming(timing);
+    }
+
+    public BackgroundLayer getBackgroundLayer() {
+        return background;
+    }
+
+    public SpriteLayer getSpriteLayer() {
+        return sprites;
+    }
+
+    public DebugLayer getDebugLayer() {
+        return debug;
+    }
+
+    public TimingGraphLayer getTimingGraphLayer() {
+        return timingGraph;
+    }
+
+    // Drop cached layer images (e.g. after the display configuration changed)
+    public void invalidateAll() {
+        for (RenderLayer layer : layers) {
+            layer.invalidate();
+        }
+    }
+}
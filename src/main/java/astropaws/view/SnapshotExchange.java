@@ -0,0 +1,57 @@
+package astropaws.view;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Triple buffer of RenderSnapshots between the game loop and one renderer
+ * thread. The game loop fills back() and calls publish(); the renderer calls
+ * latest() once per frame. Each side swaps its own buffer with the shared
+ * middle one, so the writer never touches the snapshot the renderer is
+ * drawing, and neither side blocks or allocates.
+ *
+ * One writer thread and one reader thread.
+ */
+public final class SnapshotExchange {
+
+    // Set in middle while it holds a snapshot the reader hasn't taken yet
+    private static final int FRESH = 4;
+    private static final int INDEX = FRESH - 1;
+
+    private final RenderSnapshot[] buffers = {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+
+    // Index of the shared buffer, plus FRESH
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // Writer only
+    private int back = 0;
+
+    // Reader only
+    private int front = 2;
+    private RenderSnapshot current;
+
+    /**
+     * The snapshot to fill for the next publish(); writer only.
+     */
+    public RenderSnapshot back() {
+        return buffers[back];
+    }
+
+    /**
+     * Hands the filled back buffer to the reader and takes another to fill.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * The most recently published snapshot, or null before the first; reader
+     * only. It stays unchanged until the reader's next call.
+     */
+    public RenderSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+            current = buffers[front];
+        }
+        return current;
+    }
+}
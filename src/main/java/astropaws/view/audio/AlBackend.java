@@ -0,0 +1,68 @@
+package astropaws.view.audio;
+
+import java.nio.ShortBuffer;
+
+/**
+ * The OpenAL calls AudioEngine needs, behind an interface so the engine can run
+ * against a stub (benchmarks, machines without a sound device).
+ * Parameter and enum values are the usual AL10 constants.
+ */
+public interface AlBackend {
+
+    // ---------- DEVICE ----------
+
+    void open();
+
+    void close();
+
+    void distanceModel(int model);
+
+    void dopplerFactor(float factor);
+
+    void speedOfSound(float speed);
+
+    // Defer processing of the following parameter changes until processContext()
+    void suspendContext();
+
+    void processContext();
+
+    // ---------- LISTENER ----------
+
+    void listener3f(int param, float x, float y, float z);
+
+    void listenerfv(int param, float[] values);
+
+    // ---------- BUFFERS ----------
+
+    int genBuffer();
+
+    void bufferData(int buffer, int format, ShortBuffer data, int sampleRate);
+
+    void deleteBuffer(int buffer);
+
+    // ---------- SOURCES ----------
+
+    int genSource();
+
+    void deleteSource(int source);
+
+    void sourcei(int source, int param, int value);
+
+    void sourcef(int source, int param, float value);
+
+    void source3f(int source, int param, float x, float y, float z);
+
+    int getSourcei(int source, int param);
+
+    void sourcePlay(int source);
+
+    void sourceStop(int source);
+
+    void sourceRewind(int source);
+
+    // Streaming: buffers are played in the order they were queued
+    void sourceQueueBuffers(int source, int buffer);
+
+    // Removes and returns the oldest processed buffer
+    int sourceUnqueueBuffers(int source);
+}
@@ -0,0 +1,83 @@
+package astropaws.view.audio;
+
+import astropaws.concurrent.SpscCursor;
+
+/**
+ * Single-producer/single-consumer ring of audio commands. Every slot is
+ * preallocated as columns of primitive arrays, so enqueueing a command writes
+ * a few fields and allocates nothing. The slot indices come from an SpscCursor.
+ *
+ * Producer: slot = claim(); write op[slot], handle[slot], ...; commit().
+ * Consumer: slot = peek(); read the fields; release().
+ */
+final class AudioCommandQueue {
+
+    static final int FLOATS_PER_SLOT = 6;
+
+    final int[] op;
+    final int[] handle;
+    final int[] param;
+    final int[] ivalue;
+    final float[] f;
+    final Object[] payload;
+
+    private final SpscCursor cursor;
+
+    AudioCommandQueue(int capacity) {
+        cursor = new SpscCursor(capacity);
+
+        op = new int[capacity];
+        handle = new int[capacity];
+        param = new int[capacity];
+        ivalue = new int[capacity];
+        f = new float[capacity * FLOATS_PER_SLOT];
+        payload = new Object[capacity];
+    }
+
+    // ---------- PRODUCER ----------
+
+    /**
+     * Returns the slot to fill, or -1 if the ring is full.
+     */
+    int claim() {
+        return cursor.claim();
+    }
+
+    void commit() {
+        cursor.commit();
+    }
+
+    /**
+     * True if n more commands fit. The consumer can only free slots, so a
+     * batch that fits now still fits when it is written.
+     */
+    boolean hasRoom(int n) {
+        return cursor.hasRoom(n);
+    }
+
+    // ---------- CONSUMER ----------
+
+    /**
+     * Returns the next slot to read, or -1 if the ring is empty.
+     */
+    int peek() {
+        return cursor.peek();
+    }
+
+    void release() {
+        // Drop the payload before the producer can reuse the slot
+        payload[cursor.peek()] = null;
+        cursor.release();
+    }
+
+    // ---------- STATS ----------
+
+    // Safe from any thread; may be off by a command or two while both sides run
+    int size() {
+        return cursor.size();
+    }
+
+    int capacity() {
+        return cursor.capacity();
+    }
+}
@@ -1,51 +1,131 @@
 package astropaws.view.audio;
 
-import org.lwjgl.openal.*;
-import org.lwjgl.system.MemoryUtil;
-
+import java.io.IOException;
 import java.nio.ShortBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.lwjgl.openal.AL10.*;
-import static org.lwjgl.openal.AL11.alSpeedOfSound;
-import static org.lwjgl.openal.ALC10.*;
 
+/**
+ * Game-side front end of the audio system. All OpenAL work happens on the
+ * AudioThread; this class only keeps shadow state and writes commands into a
+ * lock-free ring, so a slow driver call never stalls the game loop.
+ *
+ * Single producer: call it from one thread at a time (setup on the main
+ * thread, then only from the game loop).
+ */
 public class AudioEngine {
 
-    private long device;
-    private long context;
+    // Returned by getSource()/getBuffer() for unknown ids
+    public static final int NO_HANDLE = -1;
 
     // Scale pixels → OpenAL world units (meters)
     // 800px ≈ 8 meters
-    private static final float WORLD_SCALE = 0.01f;
+    static final float WORLD_SCALE = 0.01f;
+
+    // Changes smaller than this (world units, gain, pitch) are not sent to AL
+    private static final float EPSILON = 1e-4f;
+
+    // Per-source dirty bits
+    private static final int DIRTY_POSITION = 1;
+    private static final int DIRTY_VELOCITY = 1 << 1;
+    private static final int DIRTY_GAIN = 1 << 2;
+    private static final int DIRTY_PITCH = 1 << 3;
+
+    // Playback command queued for the next flush (last one wins)
+    private static final int CMD_NONE = 0;
+    private static final int CMD_PLAY = 1;        // play unless already playing
+    private static final int CMD_RESTART = 2;     // stop, rewind, play
+    private static final int CMD_STOP = 3;
+
+    // Upper bound on sources; the audio thread's playing-state mirror is this big
+    public static final int MAX_SOURCES = 256;
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    // One-shot priorities: a busy voice is only stolen for a sound at least as important
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    // Pooled one-shot voices, overridable with -Dastropaws.voices
+    private static final int DEFAULT_VOICES = 16;
+
+    // One-shots requested between two flushes
+    private static final int MAX_PENDING_ONE_SHOTS = 32;
+
+    // How long cleanup() waits for the audio thread to close the device
+    private static final long SHUTDOWN_TIMEOUT_MS = 2000;
+
+    private final AudioCommandQueue queue = new AudioCommandQueue(QUEUE_CAPACITY);
+    private final AudioThread audioThread;
+    private final int voiceCount;
+
+    // Handles are indices; the audio thread maps them to AL names
+    private int sourceCount = 0;
+    private int bufferCount = 0;
+
+    // Shadow state per source handle: values wanted this frame (already in world units)
+    // and what AL was last told. Flushed once per frame.
+    private float[] wantPos = new float[8 * 3];
+    private float[] sentPos = new float[8 * 3];
+    private float[] wantVel = new float[8 * 3];
+    private float[] sentVel = new float[8 * 3];
+    private float[] wantGain = new float[8];
+    private float[] sentGain = new float[8];
+    private float[] wantPitch = new float[8];
+    private float[] sentPitch = new float[8];
+    private int[] dirty = new int[8];
+    private int[] pendingCommand = new int[8];
+    private boolean anySourceDirty = false;
+
+    // One-shots waiting for flush(): buffer, priority, and x, y, z, gain, pitch
+    private final int[] oneShotBuffer = new int[MAX_PENDING_ONE_SHOTS];
+    private final int[] oneShotPriority = new int[MAX_PENDING_ONE_SHOTS];
+    private final float[] oneShotParams = new float[MAX_PENDING_ONE_SHOTS * 5];
+    private int pendingOneShots = 0;
+
+    // Listener shadow state; orientation array is reused for every alListenerfv
+    private final float[] wantListenerPos = new float[3];
+    private final float[] sentListenerPos = new float[3];
+    private final float[] wantListenerVel = new float[3];
+    private final float[] sentListenerVel = new float[3];
+    private final float[] wantOrientation = {0, 0, -1, 0, 1, 0};
+    private final float[] sentOrientation = {0, 0, -1, 0, 1, 0};
+    private boolean listenerPosDirty = false;
+    private boolean listenerVelDirty = false;
+    private boolean orientationDirty = false;
+
+    private long droppedCommands = 0;
+
+    // Only used by the string-keyed compatibility methods
+    private final Map<String, Integer> bufferHandles = new HashMap<>();
+    private final Map<String, Integer> sourceHandles = new HashMap<>();
+
+    public AudioEngine() {
+        this(new OpenAlBackend());
+    }
 
-    private final Map<String, Integer> buffers = new HashMap<>();
-    private final Map<String, Integer> sources = new HashMap<>();
+    public AudioEngine(AlBackend backend) {
+        this.voiceCount = Integer.getInteger("astropaws.voices", DEFAULT_VOICES);
+        this.audioThread = new AudioThread(backend, queue, MAX_SOURCES, voiceCount);
+    }
 
     // ---------- INIT ----------
 
+    /**
+     * Starts the audio thread and waits until it has opened the device.
+     */
     public void init() {
-        device = alcOpenDevice((CharSequence) null);
-        if (device == MemoryUtil.NULL) {
-            throw new IllegalStateException("Failed to open OpenAL device");
-        }
-
-        context = alcCreateContext(device, (int[]) null);
-        alcMakeContextCurrent(context);
-
-        AL.createCapabilities(ALC.createCapabilities(device));
-
-        // Stronger distance model (better for blind-first gameplay)
-        alDistanceModel(AL_INVERSE_DISTANCE_CLAMPED);
-
-        // Doppler configuration
-        alDopplerFactor(1.0f);
-        alSpeedOfSound(343.3f);
+        audioThread.startAndAwait();
 
         // Listener defaults
         setListenerPosition(0f, 0f, 0f);
         setListenerOrientation(0, 0, -1, 0, 1, 0);
+        flush();
 
         System.out.println("OpenAL initialized successfully");
     }
@@ -53,140 +133,621 @@ public class AudioEngine {
     // ---------- LISTENER ----------
 
     public void setListenerPosition(float x, float y, float z) {
-        alListener3f(AL_POSITION, x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE);
+        listenerPosDirty |= want3(wantListenerPos, sentListenerPos, 0,
+                x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE);
     }
 
     public void setListenerVelocity(float x, float y, float z) {
-        alListener3f(AL_VELOCITY, x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE);
+        listenerVelDirty |= want3(wantListenerVel, sentListenerVel, 0,
+                x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE);
     }
 
     public void setListenerOrientation(
             float atX, float atY, float atZ,
             float upX, float upY, float upZ
     ) {
-        float[] orientation = new float[]{
-                atX, atY, atZ,
-                upX, upY, upZ
-        };
-        alListenerfv(AL_ORIENTATION, orientation);
+        boolean at = want3(wantOrientation, sentOrientation, 0, atX, atY, atZ);
+        boolean up = want3(wantOrientation, sentOrientation, 3, upX, upY, upZ);
+        orientationDirty |= at || up;
     }
 
     // ---------- BUFFERS ----------
 
-    public void loadSound(String bufferId, ShortBuffer pcmData, int sampleRate) {
-        int buffer = alGenBuffers();
-        alBufferData(buffer, AL_FORMAT_MONO16, pcmData, sampleRate);
-        buffers.put(bufferId, buffer);
+    /**
+     * Uploads PCM data and returns its buffer handle. The id can be used with
+     * the string-keyed methods as well.
+     */
+    public int loadSound(String bufferId, ShortBuffer pcmData, int sampleRate) {
+        int handle = loadSound(pcmData, sampleRate);
+        bufferHandles.put(bufferId, handle);
+        return handle;
+    }
+
+    /**
+     * The upload happens on the audio thread; pcmData must not be modified afterwards.
+     */
+    public int loadSound(ShortBuffer pcmData, int sampleRate) {
+        int handle = bufferCount++;
+
+        int slot = claimBlocking();
+        queue.op[slot] = AudioThread.OP_LOAD_BUFFER;
+        queue.handle[slot] = handle;
+        queue.ivalue[slot] = sampleRate;
+        queue.payload[slot] = pcmData;
+        queue.commit();
+        audioThread.wake();
+
+        return handle;
+    }
+
+    public int getBuffer(String bufferId) {
+        Integer handle = bufferHandles.get(bufferId);
+        return handle != null ? handle : NO_HANDLE;
     }
 
     // ---------- SOURCES ----------
 
-    public void createSource(String sourceId, String bufferId, boolean looping, float gain) {
-        int source = alGenSources();
+    /**
+     * Creates a source and returns its handle. The id can be used with the
+     * string-keyed methods as well.
+     */
+    public int createSource(String sourceId, String bufferId, boolean looping, float gain) {
+        int buffer = getBuffer(bufferId);
+        if (buffer == NO_HANDLE) {
+            throw new IllegalArgumentException("Unknown buffer: " + bufferId);
+        }
 
-        alSourcei(source, AL_BUFFER, buffers.get(bufferId));
-        alSourcei(source, AL_LOOPING, looping ? AL_TRUE : AL_FALSE);
-        alSourcef(source, AL_GAIN, gain);
+        int handle = createSource(buffer, looping, gain);
+        sourceHandles.put(sourceId, handle);
+        return handle;
+    }
 
-        // Distance tuning (scaled to pixel world)
-        alSourcef(source, AL_REFERENCE_DISTANCE, 1.0f);  // 1 meter (~100px)
-        alSourcef(source, AL_ROLLOFF_FACTOR, 2.5f);      // stronger falloff
-        alSourcef(source, AL_MAX_DISTANCE, 20.0f);       // 20 meters (~2000px)
+    public int createSource(int bufferHandle, boolean looping, float gain) {
+        checkBuffer(bufferHandle);
+        int handle = newSourceHandle(gain);
 
-        alSource3f(source, AL_POSITION, 0f, 0f, 0f);
-        alSource3f(source, AL_VELOCITY, 0f, 0f, 0f);
+        int slot = claimBlocking();
+        queue.op[slot] = AudioThread.OP_CREATE_SOURCE;
+        queue.handle[slot] = handle;
+        queue.ivalue[slot] = bufferHandle;
+        queue.param[slot] = looping ? 1 : 0;
+        queue.f[slot * AudioCommandQueue.FLOATS_PER_SLOT] = gain;
+        queue.commit();
+        audioThread.wake();
 
-        sources.put(sourceId, source);
+        return handle;
     }
 
-    public void play(String sourceId) {
-        Integer source = sources.get(sourceId);
-        if (source == null) return;
+    /**
+     * Creates a source that streams a WAV resource instead of playing one
+     * uploaded buffer; use it for long tracks (ambience, narration, music).
+     * It takes the same handle-based calls as any other source.
+     */
+    public int createStream(String sourceId, String resourcePath, boolean looping, float gain) {
+        PcmStream pcm;
+        try {
+            pcm = new WavStream(resourcePath);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open audio stream: " + resourcePath, e);
+        }
+
+        int handle = createStream(pcm, looping, gain);
+        sourceHandles.put(sourceId, handle);
+        return handle;
+    }
+
+    /**
+     * Memory use is a few fixed-size chunks regardless of the stream's length.
+     * The stream is closed by cleanup().
+     */
+    public int createStream(PcmStream pcm, boolean looping, float gain) {
+        int handle = newSourceHandle(gain);
+
+        int slot = claimBlocking();
+        queue.op[slot] = AudioThread.OP_CREATE_STREAM;
+        queue.handle[slot] = handle;
+        queue.payload[slot] = new StreamingSource(pcm, looping);
+        queue.f[slot * AudioCommandQueue.FLOATS_PER_SLOT] = gain;
+        queue.commit();
+        audioThread.wake();
+
+        return handle;
+    }
 
-        int state = alGetSourcei(source, AL_SOURCE_STATE);
-        if (state != AL_PLAYING) {
-            alSourcePlay(source);
+    private int newSourceHandle(float gain) {
+        if (sourceCount == MAX_SOURCES) {
+            throw new IllegalStateException("Too many sources (max " + MAX_SOURCES + ")");
         }
+        if (sourceCount == dirty.length) {
+            growSources(sourceCount * 2);
+        }
+
+        int handle = sourceCount++;
+
+        // Shadow matches what the audio thread will set up
+        for (int i = 0; i < 3; i++) {
+            wantPos[handle * 3 + i] = sentPos[handle * 3 + i] = 0f;
+            wantVel[handle * 3 + i] = sentVel[handle * 3 + i] = 0f;
+        }
+        wantGain[handle] = sentGain[handle] = gain;
+        wantPitch[handle] = sentPitch[handle] = 1f;
+        dirty[handle] = 0;
+        pendingCommand[handle] = CMD_NONE;
+
+        return handle;
     }
 
-    public void playFromStart(String sourceId) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSourceStop(source);
-            alSourceRewind(source);
-            alSourcePlay(source);
+    public int getSource(String sourceId) {
+        Integer handle = sourceHandles.get(sourceId);
+        return handle != null ? handle : NO_HANDLE;
+    }
+
+    // ---------- SOURCES (by handle) ----------
+    // Playback commands and parameter changes are queued and sent by flush().
+
+    public void play(int source) {
+        queueCommand(source, CMD_PLAY);
+    }
+
+    public void playFromStart(int source) {
+        queueCommand(source, CMD_RESTART);
+    }
+
+    public void stop(int source) {
+        queueCommand(source, CMD_STOP);
+    }
+
+    /**
+     * Answered from the audio thread's state mirror, without an AL call. Lags
+     * by up to one audio-thread pass and doesn't see commands still waiting for flush().
+     */
+    public boolean isPlaying(int source) {
+        checkSource(source);
+        return audioThread.isPlaying(source);
+    }
+
+    public void setSourcePosition(int source, float x, float y, float z) {
+        checkSource(source);
+        if (want3(wantPos, sentPos, source * 3, x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE)) {
+            markDirty(source, DIRTY_POSITION);
+        } else {
+            dirty[source] &= ~DIRTY_POSITION;
         }
     }
 
-    public void stop(String sourceId) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSourceStop(source);
+    public void setSourceVelocity(int source, float x, float y, float z) {
+        checkSource(source);
+        if (want3(wantVel, sentVel, source * 3, x * WORLD_SCALE, y * WORLD_SCALE, z * WORLD_SCALE)) {
+            markDirty(source, DIRTY_VELOCITY);
+        } else {
+            dirty[source] &= ~DIRTY_VELOCITY;
+        }
+    }
+
+    public void setSourcePitch(int source, float pitch) {
+        checkSource(source);
+        wantPitch[source] = pitch;
+        if (Math.abs(pitch - sentPitch[source]) > EPSILON) {
+            markDirty(source, DIRTY_PITCH);
+        } else {
+            dirty[source] &= ~DIRTY_PITCH;
+        }
+    }
+
+    public void setSourceGain(int source, float gain) {
+        checkSource(source);
+        wantGain[source] = gain;
+        if (Math.abs(gain - sentGain[source]) > EPSILON) {
+            markDirty(source, DIRTY_GAIN);
+        } else {
+            dirty[source] &= ~DIRTY_GAIN;
+        }
+    }
+
+    // Rarely changes, so it is queued right away and never dropped
+    public void setLooping(int source, boolean loop) {
+        checkSource(source);
+
+        int slot = claimBlocking();
+        queue.op[slot] = AudioThread.OP_SOURCE_I;
+        queue.handle[slot] = source;
+        queue.param[slot] = AL_LOOPING;
+        queue.ivalue[slot] = loop ? AL_TRUE : AL_FALSE;
+        queue.commit();
+        audioThread.wake();
+    }
+
+    // ---------- ONE-SHOTS ----------
+
+    /**
+     * Plays a buffer once on a pooled voice, at a fixed position (pixels).
+     * Overlapping calls overlap instead of restarting each other; the voice
+     * goes back to the pool when the sound ends. Sent by the next flush().
+     */
+    public void playOneShot(int bufferHandle, float x, float y, float z, float gain, int priority) {
+        checkBuffer(bufferHandle);
+        if (pendingOneShots == MAX_PENDING_ONE_SHOTS) {
+            droppedCommands++;
+            return;
+        }
+
+        int i = pendingOneShots++;
+        oneShotBuffer[i] = bufferHandle;
+        oneShotPriority[i] = priority;
+        int p = i * 5;
+        oneShotParams[p] = x * WORLD_SCALE;
+        oneShotParams[p + 1] = y * WORLD_SCALE;
+        oneShotParams[p + 2] = z * WORLD_SCALE;
+        oneShotParams[p + 3] = gain;
+        oneShotParams[p + 4] = 1f;
+    }
+
+    public void playOneShot(String bufferId, float x, float y, float z, float gain, int priority) {
+        int buffer = getBuffer(bufferId);
+        if (buffer != NO_HANDLE) playOneShot(buffer, x, y, z, gain, priority);
+    }
+
+    public int getVoiceCount() {
+        return voiceCount;
+    }
+
+    /**
+     * Voices playing a one-shot, as of the audio thread's last pass.
+     */
+    public int getActiveVoices() {
+        return audioThread.getActiveVoices();
+    }
+
+    /**
+     * One-shots that cut off a lower-priority or quieter voice.
+     */
+    public long getStolenVoices() {
+        return audioThread.getStolenVoices();
+    }
+
+    /**
+     * One-shots not played because every voice was busy with something more important.
+     */
+    public long getRejectedOneShots() {
+        return audioThread.getRejectedOneShots();
+    }
+
+    /**
+     * Times a streamed source ran out of decoded audio and had to be restarted.
+     */
+    public int getStreamUnderruns() {
+        return audioThread.getStreamUnderruns();
+    }
+
+    // ---------- FRAME FLUSH ----------
+
+    /**
+     * Queues every changed listener/source parameter, playback command and
+     * one-shot for the audio thread as one suspended-context batch. Call once per frame;
+     * queues nothing but a frame marker when nothing changed.
+     *
+     * If the ring can't hold the whole batch, the batch is dropped and counted;
+     * the shadow state stays dirty so it goes out with the next flush.
+     */
+    public void flush() {
+        if (anySourceDirty || listenerPosDirty || listenerVelDirty || orientationDirty
+                || pendingOneShots > 0) {
+            int needed = countBatchCommands();
+            if (!queue.hasRoom(needed + 1)) {
+                droppedCommands += needed;
+                audioThread.wake();
+                return;
+            }
+
+            put(AudioThread.OP_SUSPEND, 0, 0);
+
+            if (listenerPosDirty) {
+                put3(AudioThread.OP_LISTENER_3F, 0, AL_POSITION, wantListenerPos, 0);
+                System.arraycopy(wantListenerPos, 0, sentListenerPos, 0, 3);
+                listenerPosDirty = false;
+            }
+            if (listenerVelDirty) {
+                put3(AudioThread.OP_LISTENER_3F, 0, AL_VELOCITY, wantListenerVel, 0);
+                System.arraycopy(wantListenerVel, 0, sentListenerVel, 0, 3);
+                listenerVelDirty = false;
+            }
+            if (orientationDirty) {
+                int slot = begin(AudioThread.OP_LISTENER_FV, 0, AL_ORIENTATION);
+                System.arraycopy(wantOrientation, 0, queue.f, slot * AudioCommandQueue.FLOATS_PER_SLOT, 6);
+                queue.commit();
+                System.arraycopy(wantOrientation, 0, sentOrientation, 0, 6);
+                orientationDirty = false;
+            }
+
+            if (anySourceDirty) {
+                for (int i = 0; i < sourceCount; i++) {
+                    if (dirty[i] != 0) flushSourceParams(i);
+                }
+                // Parameters first, so a sound starts where it should be
+                for (int i = 0; i < sourceCount; i++) {
+                    if (pendingCommand[i] != CMD_NONE) flushSourceCommand(i);
+                }
+                anySourceDirty = false;
+            }
+
+            for (int i = 0; i < pendingOneShots; i++) {
+                int slot = begin(AudioThread.OP_ONE_SHOT, oneShotBuffer[i], oneShotPriority[i]);
+                System.arraycopy(oneShotParams, i * 5, queue.f, slot * AudioCommandQueue.FLOATS_PER_SLOT, 5);
+                queue.commit();
+            }
+            pendingOneShots = 0;
+
+            put(AudioThread.OP_PROCESS, 0, 0);
+        }
+
+        // Frame marker for the AL call count; skipping one under pressure is harmless
+        if (queue.hasRoom(1)) {
+            put(AudioThread.OP_FRAME_END, 0, 0);
+        }
+        audioThread.wake();
+    }
+
+    /**
+     * AL calls the audio thread issued for the last completed frame, including
+     * its state-mirror queries.
+     */
+    public int getAlCallsLastFrame() {
+        return audioThread.getCallsLastFrame();
+    }
+
+    /**
+     * Commands written but not yet executed by the audio thread.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * Commands left out of a frame because the ring was full.
+     */
+    public long getDroppedCommands() {
+        return droppedCommands;
+    }
+
+    /**
+     * Time the audio thread spent executing its most recent batch of commands.
+     */
+    public long getLastDrainNanos() {
+        return audioThread.getLastDrainNanos();
+    }
+
+    public long getMaxDrainNanos() {
+        return audioThread.getMaxDrainNanos();
+    }
+
+    private int countBatchCommands() {
+        int n = 2 + pendingOneShots; // suspend + process + one-shots
+        if (listenerPosDirty) n++;
+        if (listenerVelDirty) n++;
+        if (orientationDirty) n++;
+        if (anySourceDirty) {
+            for (int i = 0; i < sourceCount; i++) {
+                n += Integer.bitCount(dirty[i]);
+                if (pendingCommand[i] != CMD_NONE) n++;
+            }
+        }
+        return n;
+    }
+
+    private void flushSourceParams(int i) {
+        int flags = dirty[i];
+        int p = i * 3;
+
+        if ((flags & DIRTY_POSITION) != 0) {
+            put3(AudioThread.OP_SOURCE_3F, i, AL_POSITION, wantPos, p);
+            sentPos[p] = wantPos[p];
+            sentPos[p + 1] = wantPos[p + 1];
+            sentPos[p + 2] = wantPos[p + 2];
+        }
+        if ((flags & DIRTY_VELOCITY) != 0) {
+            put3(AudioThread.OP_SOURCE_3F, i, AL_VELOCITY, wantVel, p);
+            sentVel[p] = wantVel[p];
+            sentVel[p + 1] = wantVel[p + 1];
+            sentVel[p + 2] = wantVel[p + 2];
+        }
+        if ((flags & DIRTY_GAIN) != 0) {
+            int slot = begin(AudioThread.OP_SOURCE_F, i, AL_GAIN);
+            queue.f[slot * AudioCommandQueue.FLOATS_PER_SLOT] = wantGain[i];
+            queue.commit();
+            sentGain[i] = wantGain[i];
+        }
+        if ((flags & DIRTY_PITCH) != 0) {
+            int slot = begin(AudioThread.OP_SOURCE_F, i, AL_PITCH);
+            queue.f[slot * AudioCommandQueue.FLOATS_PER_SLOT] = wantPitch[i];
+            queue.commit();
+            sentPitch[i] = wantPitch[i];
+        }
+        dirty[i] = 0;
+    }
+
+    private void flushSourceCommand(int i) {
+        switch (pendingCommand[i]) {
+            case CMD_PLAY:
+                put(AudioThread.OP_PLAY, i, 0);
+                break;
+            case CMD_RESTART:
+                put(AudioThread.OP_RESTART, i, 0);
+                break;
+            case CMD_STOP:
+                put(AudioThread.OP_STOP, i, 0);
+                break;
+            default:
+                break;
+        }
+        pendingCommand[i] = CMD_NONE;
+    }
+
+    // ---------- QUEUE WRITES ----------
+
+    // Used inside flush(), which has already checked hasRoom() for the whole batch
+
+    /**
+     * Claims a slot and fills the common fields; the caller writes any float
+     * arguments and then calls queue.commit().
+     */
+    private int begin(int op, int handle, int param) {
+        int slot = queue.claim();
+        queue.op[slot] = op;
+        queue.handle[slot] = handle;
+        queue.param[slot] = param;
+        return slot;
+    }
+
+    private void put(int op, int handle, int param) {
+        begin(op, handle, param);
+        queue.commit();
+    }
+
+    private void put3(int op, int handle, int param, float[] values, int offset) {
+        int slot = begin(op, handle, param);
+        int f = slot * AudioCommandQueue.FLOATS_PER_SLOT;
+        queue.f[f] = values[offset];
+        queue.f[f + 1] = values[offset + 1];
+        queue.f[f + 2] = values[offset + 2];
+        queue.commit();
+    }
+
+    /**
+     * For commands that must not be dropped (loads, source setup, shutdown):
+     * waits for the audio thread to free a slot.
+     */
+    private int claimBlocking() {
+        int slot;
+        while ((slot = queue.claim()) < 0) {
+            if (!audioThread.isAlive()) {
+                throw new IllegalStateException("Audio thread is not running");
+            }
+            audioThread.wake();
+            LockSupport.parkNanos(100_000L);
         }
+        return slot;
+    }
+
+    private void queueCommand(int source, int command) {
+        checkSource(source);
+        pendingCommand[source] = command;
+        anySourceDirty = true;
+    }
+
+    private void markDirty(int source, int flag) {
+        dirty[source] |= flag;
+        anySourceDirty = true;
+    }
+
+    /**
+     * Stores (x, y, z) at want[offset..offset+2]; returns true if it differs
+     * from sent[offset..offset+2] by more than EPSILON.
+     */
+    private static boolean want3(float[] want, float[] sent, int offset, float x, float y, float z) {
+        want[offset] = x;
+        want[offset + 1] = y;
+        want[offset + 2] = z;
+        return Math.abs(x - sent[offset]) > EPSILON
+                || Math.abs(y - sent[offset + 1]) > EPSILON
+                || Math.abs(z - sent[offset + 2]) > EPSILON;
+    }
+
+    private void growSources(int capacity) {
+        wantPos = Arrays.copyOf(wantPos, capacity * 3);
+        sentPos = Arrays.copyOf(sentPos, capacity * 3);
+        wantVel = Arrays.copyOf(wantVel, capacity * 3);
+        sentVel = Arrays.copyOf(sentVel, capacity * 3);
+        wantGain = Arrays.copyOf(wantGain, capacity);
+        sentGain = Arrays.copyOf(sentGain, capacity);
+        wantPitch = Arrays.copyOf(wantPitch, capacity);
+        sentPitch = Arrays.copyOf(sentPitch, capacity);
+        dirty = Arrays.copyOf(dirty, capacity);
+        pendingCommand = Arrays.copyOf(pendingCommand, capacity);
+    }
+
+    private void checkSource(int handle) {
+        if (handle < 0 || handle >= sourceCount) {
+            throw new IllegalArgumentException("Invalid source handle: " + handle);
+        }
+    }
+
+    private void checkBuffer(int handle) {
+        if (handle < 0 || handle >= bufferCount) {
+            throw new IllegalArgumentException("Invalid buffer handle: " + handle);
+        }
+    }
+
+    // ---------- SOURCES (by id, compatibility) ----------
+
+    public void play(String sourceId) {
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) play(source);
+    }
+
+    public void playFromStart(String sourceId) {
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) playFromStart(source);
+    }
+
+    public void stop(String sourceId) {
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) stop(source);
     }
 
     public boolean isPlaying(String sourceId) {
-        Integer source = sources.get(sourceId);
-        if (source == null) return false;
-        return alGetSourcei(source, AL_SOURCE_STATE) == AL_PLAYING;
+        int source = getSource(sourceId);
+        return source != NO_HANDLE && isPlaying(source);
     }
 
     public void setSourcePosition(String sourceId, float x, float y, float z) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSource3f(source,
-                    AL_POSITION,
-                    x * WORLD_SCALE,
-                    y * WORLD_SCALE,
-                    z * WORLD_SCALE
-            );
-        }
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) setSourcePosition(source, x, y, z);
     }
 
     public void setSourceVelocity(String sourceId, float x, float y, float z) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSource3f(source,
-                    AL_VELOCITY,
-                    x * WORLD_SCALE,
-                    y * WORLD_SCALE,
-                    z * WORLD_SCALE
-            );
-        }
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) setSourceVelocity(source, x, y, z);
     }
 
     public void setSourcePitch(String sourceId, float pitch) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSourcef(source, AL_PITCH, pitch);
-        }
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) setSourcePitch(source, pitch);
     }
 
     public void setSourceGain(String sourceId, float gain) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSourcef(source, AL_GAIN, gain);
-        }
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) setSourceGain(source, gain);
     }
 
     public void setLooping(String sourceId, boolean loop) {
-        Integer source = sources.get(sourceId);
-        if (source != null) {
-            alSourcei(source, AL_LOOPING, loop ? AL_TRUE : AL_FALSE);
-        }
+        int source = getSource(sourceId);
+        if (source != NO_HANDLE) setLooping(source, loop);
     }
 
     // ---------- CLEANUP ----------
 
+    /**
+     * Asks the audio thread to delete every source and buffer and close the
+     * device, then waits (bounded) for it to finish.
+     */
     public void cleanup() {
-        for (int source : sources.values()) {
-            alDeleteSources(source);
-        }
-        for (int buffer : buffers.values()) {
-            alDeleteBuffers(buffer);
-        }
+        if (!audioThread.isAlive()) return;
 
-        alcDestroyContext(context);
-        alcCloseDevice(device);
+        int slot = claimBlocking();
+        queue.op[slot] = AudioThread.OP_SHUTDOWN;
+        queue.commit();
+        audioThread.wake();
+
+        try {
+            audioThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sourceCount = 0;
+        bufferCount = 0;
     }
 }
@@ -0,0 +1,153 @@
+package astropaws.view.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.lwjgl.BufferUtils;
+
+/**
+ * All game sounds as one pre-decoded file written at build time by
+ * AudioPackWriter. Opening it maps the file (or, inside a jar, reads it once)
+ * and parses a small index; each sound is then a slice of that one buffer
+ * that can be handed to alBufferData without copying or decoding.
+ *
+ * Layout, little-endian:
+ * <pre>
+ * int magic "APAK", int version, int count
+ * count x { short nameLength, UTF-8 name, int sampleRate, int alFormat, long offset, long length }
+ * sample data, each entry starting on a 16-byte boundary
+ * </pre>
+ */
+public final class AudioPack {
+
+    static final int MAGIC = 0x4B415041; // "APAK"
+    static final int VERSION = 1;
+    static final int ALIGNMENT = 16;
+
+    public static final class Entry {
+        public final String name;
+        public final int sampleRate;
+        public final int format;
+        public final ShortBuffer pcm;
+
+        Entry(String name, int sampleRate, int format, ShortBuffer pcm) {
+            this.name = name;
+            this.sampleRate = sampleRate;
+            this.format = format;
+            this.pcm = pcm;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    private AudioPack(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a pack on the classpath. Returns null if there is none (e.g. the
+     * build step that writes it hasn't run), so callers can fall back to WAVs.
+     */
+    public static AudioPack open(String resourcePath) {
+        URL url = AudioPack.class.getClassLoader().getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return open(Path.of(url.toURI()));
+            }
+            return parse(readDirect(url), resourcePath);
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Failed to open audio pack: " + resourcePath, e);
+        }
+    }
+
+    public static AudioPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.toString());
+        }
+    }
+
+    private static ByteBuffer readDirect(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long length = connection.getContentLengthLong();
+        if (length <= 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Unknown audio pack size: " + url);
+        }
+
+        ByteBuffer buffer = BufferUtils.createByteBuffer((int) length);
+        try (InputStream is = connection.getInputStream();
+             ReadableByteChannel channel = Channels.newChannel(is)) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static AudioPack parse(ByteBuffer pack, String path) throws IOException {
+        pack.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (pack.limit() < 12 || pack.getInt(0) != MAGIC) {
+            throw new IOException("Not an audio pack: " + path);
+        }
+        if (pack.getInt(4) != VERSION) {
+            throw new IOException("Unsupported audio pack version " + pack.getInt(4) + ": " + path);
+        }
+
+        int count = pack.getInt(8);
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+
+        pack.position(12);
+        for (int i = 0; i < count; i++) {
+            byte[] nameBytes = new byte[pack.getShort() & 0xFFFF];
+            pack.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            int sampleRate = pack.getInt();
+            int format = pack.getInt();
+            long offset = pack.getLong();
+            long length = pack.getLong();
+            if (offset < 0 || length < 0 || offset + length > pack.limit()) {
+                throw new IOException("Corrupt audio pack entry '" + name + "': " + path);
+            }
+
+            ShortBuffer pcm = pack.slice((int) offset, (int) length)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asShortBuffer();
+            entries.put(name, new Entry(name, sampleRate, format, pcm));
+        }
+        return new AudioPack(entries);
+    }
+
+    /**
+     * The sound with this name (the WAV file name without extension), or null.
+     * The returned buffer is shared; don't change its position or limit.
+     */
+    public Entry get(String name) {
+        return entries.get(name);
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+}
@@ -0,0 +1,109 @@
+package astropaws.view.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.lwjgl.openal.AL10.AL_FORMAT_MONO16;
+
+/**
+ * Build step: decodes every .wav in a directory with WavLoader and writes the
+ * samples into one AudioPack file. Run by Maven in process-classes:
+ *
+ * <pre>AudioPackWriter &lt;wav directory&gt; &lt;output pack&gt;</pre>
+ */
+public final class AudioPackWriter {
+
+    private AudioPackWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AudioPackWriter <wav directory> <output pack>");
+            System.exit(2);
+        }
+
+        Path dir = Path.of(args[0]);
+        Path out = Path.of(args[1]);
+        int count = write(dir, out);
+        System.out.println("Wrote " + count + " sounds (" + Files.size(out) + " bytes) to " + out);
+    }
+
+    /**
+     * Returns the number of sounds written.
+     */
+    public static int write(Path wavDirectory, Path packFile) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<WavLoader.WavData> sounds = new ArrayList<>();
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(wavDirectory, "*.wav")) {
+            stream.forEach(files::add);
+        }
+        // Stable order, so the same inputs give the same pack
+        files.sort(null);
+
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            names.add(fileName.substring(0, fileName.length() - ".wav".length()));
+            sounds.add(WavLoader.load(file));
+        }
+
+        // Index size first, so data offsets are known
+        int indexBytes = 12;
+        for (String name : names) {
+            indexBytes += 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 + 4 + 8 + 8;
+        }
+
+        ByteBuffer index = ByteBuffer.allocate(indexBytes).order(ByteOrder.LITTLE_ENDIAN);
+        index.putInt(AudioPack.MAGIC).putInt(AudioPack.VERSION).putInt(names.size());
+
+        long[] offsets = new long[names.size()];
+        long offset = align(indexBytes);
+        for (int i = 0; i < names.size(); i++) {
+            byte[] nameBytes = names.get(i).getBytes(StandardCharsets.UTF_8);
+            long length = sounds.get(i).pcm.remaining() * 2L;
+
+            index.putShort((short) nameBytes.length).put(nameBytes);
+            index.putInt(sounds.get(i).sampleRate).putInt(AL_FORMAT_MONO16);
+            index.putLong(offset).putLong(length);
+
+            offsets[i] = offset;
+            offset = align(offset + length);
+        }
+        index.flip();
+
+        Files.createDirectories(packFile.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(packFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, index, 0);
+
+            for (int i = 0; i < sounds.size(); i++) {
+                ShortBuffer pcm = sounds.get(i).pcm;
+                ByteBuffer bytes = ByteBuffer.allocate(pcm.remaining() * 2).order(ByteOrder.LITTLE_ENDIAN);
+                bytes.asShortBuffer().put(pcm.duplicate());
+                writeFully(channel, bytes, offsets[i]);
+            }
+        }
+        return names.size();
+    }
+
+    private static long align(long offset) {
+        return (offset + AudioPack.ALIGNMENT - 1) & -AudioPack.ALIGNMENT;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package astropaws.view.audio;
+
+import astropaws.diagnostics.AudioCommandEvent;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.lwjgl.openal.AL10.*;
+
+/**
+ * Owns the AL context. Drains AudioCommandQueue, runs each command against the
+ * backend, and publishes per-source playing state so the game thread never
+ * has to wait on the driver.
+ */
+final class AudioThread extends Thread {
+
+    // ---------- OPCODES ----------
+
+    static final int OP_LOAD_BUFFER = 1;      // handle=buffer, ivalue=sampleRate, payload=ShortBuffer
+    static final int OP_CREATE_SOURCE = 2;    // handle=source, ivalue=buffer handle, param=looping, f0=gain
+    static final int OP_SOURCE_3F = 3;        // handle, param, f0..f2
+    static final int OP_SOURCE_F = 4;         // handle, param, f0
+    static final int OP_SOURCE_I = 5;         // handle, param, ivalue
+    static final int OP_LISTENER_3F = 6;      // param, f0..f2
+    static final int OP_LISTENER_FV = 7;      // param, f0..f5
+    static final int OP_PLAY = 8;             // play unless already playing
+    static final int OP_RESTART = 9;          // stop, rewind, play
+    static final int OP_STOP = 10;
+    static final int OP_SUSPEND = 11;
+    static final int OP_PROCESS = 12;
+    static final int OP_FRAME_END = 13;       // marks the end of one game frame for call counting
+    static final int OP_SHUTDOWN = 14;
+    static final int OP_ONE_SHOT = 15;        // handle=buffer, param=priority, f0..f2=position, f3=gain, f4=pitch
+    static final int OP_CREATE_STREAM = 16;   // handle=source, payload=StreamingSource, f0=gain
+
+    // JFR operation names, indexed by opcode
+    private static final String[] OP_NAMES = {
+            "none", "load buffer", "create source", "source 3f", "source f", "source i",
+            "listener 3f", "listener fv", "play", "restart", "stop", "suspend", "process",
+            "frame end", "shutdown", "one-shot", "create stream"
+    };
+
+    // How long to sleep when idle; also how often the playing-state mirror refreshes
+    private static final long IDLE_PARK_NANOS = 2_000_000L;
+
+    private final CountingAlBackend al;
+    private final AudioCommandQueue queue;
+
+    // Handle -> AL name, only touched on this thread
+    private final int[] sourceNames;
+    private int sourceCount = 0;
+    private int[] bufferNames = new int[16];
+    private int bufferCount = 0;
+
+    private final float[] listenerValues = new float[AudioCommandQueue.FLOATS_PER_SLOT];
+    private final float[] listenerPos = new float[3];
+
+    private final VoicePool voices;
+
+    // Streamed sources by handle (null for buffer-backed ones), plus a dense list to service
+    private final StreamingSource[] streams;
+    private final int[] streamHandles;
+    private int streamCount = 0;
+    private StreamRefiller refiller;
+
+    // Published state, read by the game thread
+    private final AtomicIntegerArray playing;
+    private volatile int callsLastFrame;
+    private volatile long lastDrainNanos;
+    private volatile long maxDrainNanos;
+    private volatile long commandsExecuted;
+    private volatile int activeVoices;
+    private volatile long stolenVoices;
+    private volatile long rejectedOneShots;
+    private volatile int streamUnderruns;
+
+    private long callsAtFrameStart = 0;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile RuntimeException startupFailure;
+    private volatile boolean running = true;
+
+    // Set while parked, so the producer only pays for unpark() when it's needed
+    private volatile boolean sleeping = false;
+
+    AudioThread(AlBackend backend, AudioCommandQueue queue, int maxSources, int voiceCount) {
+        super("AudioThread");
+        setDaemon(true);
+
+        this.al = new CountingAlBackend(backend);
+        this.queue = queue;
+        this.sourceNames = new int[maxSources];
+        this.playing = new AtomicIntegerArray(maxSources);
+        this.streams = new StreamingSource[maxSources];
+        this.streamHandles = new int[maxSources];
+        this.voices = new VoicePool(al, voiceCount);
+    }
+
+    /**
+     * Starts the thread and waits until the device is open.
+     * Rethrows whatever opening the device threw.
+     */
+    void startAndAwait() {
+        start();
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting audio thread", e);
+        }
+        if (startupFailure != null) {
+            throw startupFailure;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            al.open();
+
+            // Stronger distance model (better for blind-first gameplay)
+            al.distanceModel(AL_INVERSE_DISTANCE_CLAMPED);
+
+            // Doppler configuration
+            al.dopplerFactor(1.0f);
+            al.speedOfSound(343.3f);
+
+            // Every one-shot voice is generated now, never during play
+            voices.open();
+        } catch (RuntimeException e) {
+            startupFailure = e;
+            running = false;
+            started.countDown();
+            return;
+        }
+        started.countDown();
+
+        while (running) {
+            long start = System.nanoTime();
+            int executed = drain();
+            if (executed > 0) {
+                long drain = System.nanoTime() - start;
+                lastDrainNanos = drain;
+                if (drain > maxDrainNanos) maxDrainNanos = drain;
+            }
+
+            if (!running) break;
+            serviceStreams();
+            refreshPlayingState();
+
+            if (queue.peek() < 0) {
+                sleeping = true;
+                // Re-check after publishing the flag so a wake() in between isn't lost
+                if (queue.peek() < 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    private int drain() {
+        int executed = 0;
+        int slot;
+        while ((slot = queue.peek()) >= 0) {
+            // Optimised away unless a recording has the event enabled
+            AudioCommandEvent event = new AudioCommandEvent();
+            event.begin();
+            try {
+                execute(slot);
+            } catch (RuntimeException e) {
+                System.err.println("Audio command " + queue.op[slot] + " failed: " + e.getMessage());
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                commitEvent(event, slot);
+            }
+            queue.release();
+            executed++;
+            if (!running) break;
+        }
+        commandsExecuted += executed;
+        return executed;
+    }
+
+    private void commitEvent(AudioCommandEvent event, int slot) {
+        int op = queue.op[slot];
+        event.sourceId = isSourceOp(op) ? queue.handle[slot] : -1;
+        event.operation = op >= 0 && op < OP_NAMES.length ? OP_NAMES[op] : "unknown " + op;
+        event.commit();
+    }
+
+    // Commands whose handle is a source handle
+    private static boolean isSourceOp(int op) {
+        switch (op) {
+            case OP_CREATE_SOURCE:
+            case OP_CREATE_STREAM:
+            case OP_SOURCE_3F:
+            case OP_SOURCE_F:
+            case OP_SOURCE_I:
+            case OP_PLAY:
+            case OP_RESTART:
+            case OP_STOP:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void execute(int slot) {
+        int op = queue.op[slot];
+        int handle = queue.handle[slot];
+        int param = queue.param[slot];
+        int f = slot * AudioCommandQueue.FLOATS_PER_SLOT;
+        float[] fv = queue.f;
+
+        switch (op) {
+            case OP_LOAD_BUFFER: {
+                int buffer = al.genBuffer();
+                al.bufferData(buffer, AL_FORMAT_MONO16, (ShortBuffer) queue.payload[slot], queue.ivalue[slot]);
+                if (handle >= bufferNames.length) {
+                    bufferNames = Arrays.copyOf(bufferNames, Math.max(handle + 1, bufferNames.length * 2));
+                }
+                bufferNames[handle] = buffer;
+                bufferCount = Math.max(bufferCount, handle + 1);
+                break;
+            }
+            case OP_CREATE_SOURCE: {
+                int source = al.genSource();
+
+                al.sourcei(source, AL_BUFFER, bufferNames[queue.ivalue[slot]]);
+                configureSource(source, param != 0, fv[f]);
+
+                sourceNames[handle] = source;
+                sourceCount = Math.max(sourceCount, handle + 1);
+                break;
+            }
+            case OP_CREATE_STREAM: {
+                int source = al.genSource();
+
+                // Looping is done by the stream itself; AL_LOOPING would replay only the queued buffers
+                configureSource(source, false, fv[f]);
+
+                StreamingSource stream = (StreamingSource) queue.payload[slot];
+                stream.open(al, source);
+                streams[handle] = stream;
+                streamHandles[streamCount++] = handle;
+
+                if (refiller == null) {
+                    refiller = new StreamRefiller();
+                    refiller.start();
+                }
+                refiller.add(stream);
+
+                sourceNames[handle] = source;
+                sourceCount = Math.max(sourceCount, handle + 1);
+                break;
+            }
+            case OP_SOURCE_3F:
+                al.source3f(sourceNames[handle], param, fv[f], fv[f + 1], fv[f + 2]);
+                break;
+            case OP_SOURCE_F:
+                al.sourcef(sourceNames[handle], param, fv[f]);
+                break;
+            case OP_SOURCE_I:
+                if (param == AL_LOOPING && streams[handle] != null) {
+                    streams[handle].setLooping(queue.ivalue[slot] == AL_TRUE);
+                } else {
+                    al.sourcei(sourceNames[handle], param, queue.ivalue[slot]);
+                }
+                break;
+            case OP_LISTENER_3F:
+                al.listener3f(param, fv[f], fv[f + 1], fv[f + 2]);
+                if (param == AL_POSITION) {
+                    listenerPos[0] = fv[f];
+                    listenerPos[1] = fv[f + 1];
+                    listenerPos[2] = fv[f + 2];
+                }
+                break;
+            case OP_LISTENER_FV:
+                System.arraycopy(fv, f, listenerValues, 0, listenerValues.length);
+                al.listenerfv(param, listenerValues);
+                break;
+            case OP_PLAY: {
+                if (streams[handle] != null) {
+                    streams[handle].play(al);
+                    playing.set(handle, 1);
+                    break;
+                }
+                int name = sourceNames[handle];
+                if (al.getSourcei(name, AL_SOURCE_STATE) != AL_PLAYING) {
+                    al.sourcePlay(name);
+                }
+                playing.set(handle, 1);
+                break;
+            }
+            case OP_RESTART: {
+                if (streams[handle] != null) {
+                    streams[handle].restart(al);
+                    playing.set(handle, 1);
+                    break;
+                }
+                int name = sourceNames[handle];
+                al.sourceStop(name);
+                al.sourceRewind(name);
+                al.sourcePlay(name);
+                playing.set(handle, 1);
+                break;
+            }
+            case OP_STOP:
+                if (streams[handle] != null) {
+                    streams[handle].stop(al);
+                } else {
+                    al.sourceStop(sourceNames[handle]);
+                }
+                playing.set(handle, 0);
+                break;
+            case OP_SUSPEND:
+                al.suspendContext();
+                break;
+            case OP_PROCESS:
+                al.processContext();
+                break;
+            case OP_FRAME_END: {
+                long calls = al.getCalls();
+                callsLastFrame = (int) (calls - callsAtFrameStart);
+                callsAtFrameStart = calls;
+                break;
+            }
+            case OP_ONE_SHOT:
+                voices.play(bufferNames[handle], param, fv[f], fv[f + 1], fv[f + 2],
+                        fv[f + 3], fv[f + 4], listenerPos);
+                publishVoiceStats();
+                break;
+            case OP_SHUTDOWN:
+                shutdown();
+                break;
+            default:
+                throw new IllegalStateException("Unknown audio command: " + op);
+        }
+    }
+
+    // Distance tuning (scaled to pixel world)
+    private void configureSource(int source, boolean looping, float gain) {
+        al.sourcei(source, AL_LOOPING, looping ? AL_TRUE : AL_FALSE);
+        al.sourcef(source, AL_GAIN, gain);
+
+        al.sourcef(source, AL_REFERENCE_DISTANCE, VoicePool.REFERENCE_DISTANCE);  // 1 meter (~100px)
+        al.sourcef(source, AL_ROLLOFF_FACTOR, VoicePool.ROLLOFF_FACTOR);          // stronger falloff
+        al.sourcef(source, AL_MAX_DISTANCE, VoicePool.MAX_DISTANCE);              // 20 meters (~2000px)
+
+        al.source3f(source, AL_POSITION, 0f, 0f, 0f);
+        al.source3f(source, AL_VELOCITY, 0f, 0f, 0f);
+    }
+
+    private void serviceStreams() {
+        if (streamCount == 0) return;
+
+        boolean took = false;
+        int underruns = 0;
+        for (int i = 0; i < streamCount; i++) {
+            StreamingSource stream = streams[streamHandles[i]];
+            took |= stream.service(al);
+            underruns += stream.getUnderruns();
+        }
+        streamUnderruns = underruns;
+
+        // Free chunks in the ring: let the refill thread decode ahead again
+        if (took) {
+            LockSupport.unpark(refiller);
+        }
+    }
+
+    private void refreshPlayingState() {
+        voices.reclaimFinished();
+        publishVoiceStats();
+
+        for (int i = 0; i < sourceCount; i++) {
+            int state;
+            if (streams[i] != null) {
+                // Includes a brief underrun, which service() recovers from
+                state = streams[i].isPlaying() ? 1 : 0;
+            } else {
+                state = al.getSourcei(sourceNames[i], AL_SOURCE_STATE) == AL_PLAYING ? 1 : 0;
+            }
+            // Only write on change; the game thread reads this array every tick
+            if (playing.get(i) != state) {
+                playing.lazySet(i, state);
+            }
+        }
+    }
+
+    private void publishVoiceStats() {
+        activeVoices = voices.getActiveCount();
+        stolenVoices = voices.getStolen();
+        rejectedOneShots = voices.getRejected();
+    }
+
+    private void shutdown() {
+        if (refiller != null) {
+            refiller.shutdown();
+        }
+        for (int i = 0; i < streamCount; i++) {
+            streams[streamHandles[i]].close(al);
+            streams[streamHandles[i]] = null;
+        }
+        streamCount = 0;
+
+        voices.close();
+        for (int i = 0; i < sourceCount; i++) {
+            al.deleteSource(sourceNames[i]);
+        }
+        for (int i = 0; i < bufferCount; i++) {
+            al.deleteBuffer(bufferNames[i]);
+        }
+        sourceCount = 0;
+        bufferCount = 0;
+
+        al.close();
+        running = false;
+    }
+
+    /**
+     * Wakes the thread if it is parked waiting for commands.
+     */
+    void wake() {
+        // commit() is a release store (lazySet), and the read of sleeping below
+        // could be reordered ahead of it; with the fence, either the audio
+        // thread's re-check sees the command or this read sees sleeping
+        VarHandle.fullFence();
+        if (sleeping) {
+            LockSupport.unpark(this);
+        }
+    }
+
+    // ---------- PUBLISHED STATE (any thread) ----------
+
+    boolean isPlaying(int handle) {
+        return playing.get(handle) != 0;
+    }
+
+    int getCallsLastFrame() {
+        return callsLastFrame;
+    }
+
+    long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    long getMaxDrainNanos() {
+        return maxDrainNanos;
+    }
+
+    long getCommandsExecuted() {
+        return commandsExecuted;
+    }
+
+    int getActiveVoices() {
+        return activeVoices;
+    }
+
+    long getStolenVoices() {
+        return stolenVoices;
+    }
+
+    long getRejectedOneShots() {
+        return rejectedOneShots;
+    }
+
+    int getStreamUnderruns() {
+        return streamUnderruns;
+    }
+}
@@ -0,0 +1,166 @@
+package astropaws.view.audio;
+
+import java.nio.ShortBuffer;
+
+/**
+ * Wraps another backend and counts every AL call that goes through it.
+ */
+public class CountingAlBackend implements AlBackend {
+
+    private final AlBackend delegate;
+    private long calls;
+
+    public CountingAlBackend(AlBackend delegate) {
+        this.delegate = delegate;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    // ---------- DEVICE ----------
+
+    @Override
+    public void open() {
+        calls++;
+        delegate.open();
+    }
+
+    @Override
+    public void close() {
+        calls++;
+        delegate.close();
+    }
+
+    @Override
+    public void distanceModel(int model) {
+        calls++;
+        delegate.distanceModel(model);
+    }
+
+    @Override
+    public void dopplerFactor(float factor) {
+        calls++;
+        delegate.dopplerFactor(factor);
+    }
+
+    @Override
+    public void speedOfSound(float speed) {
+        calls++;
+        delegate.speedOfSound(speed);
+    }
+
+    @Override
+    public void suspendContext() {
+        calls++;
+        delegate.suspendContext();
+    }
+
+    @Override
+    public void processContext() {
+        calls++;
+        delegate.processContext();
+    }
+
+    // ---------- LISTENER ----------
+
+    @Override
+    public void listener3f(int param, float x, float y, float z) {
+        calls++;
+        delegate.listener3f(param, x, y, z);
+    }
+
+    @Override
+    public void listenerfv(int param, float[] values) {
+        calls++;
+        delegate.listenerfv(param, values);
+    }
+
+    // ---------- BUFFERS ----------
+
+    @Override
+    public int genBuffer() {
+        calls++;
+        return delegate.genBuffer();
+    }
+
+    @Override
+    public void bufferData(int buffer, int format, ShortBuffer data, int sampleRate) {
+        calls++;
+        delegate.bufferData(buffer, format, data, sampleRate);
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        calls++;
+        delegate.deleteBuffer(buffer);
+    }
+
+    // ---------- SOURCES ----------
+
+    @Override
+    public int genSource() {
+        calls++;
+        return delegate.genSource();
+    }
+
+    @Override
+    public void deleteSource(int source) {
+        calls++;
+        delegate.deleteSource(source);
+    }
+
+    @Override
+    public void sourcei(int source, int param, int value) {
+        calls++;
+        delegate.sourcei(source, param, value);
+    }
+
+    @Override
+    public void sourcef(int source, int param, float value) {
+        calls++;
+        delegate.sourcef(source, param, value);
+    }
+
+    @Override
+    public void source3f(int source, int param, float x, float y, float z) {
+        calls++;
+        delegate.source3f(source, param, x, y, z);
+    }
+
+    @Override
+    public int getSourcei(int source, int param) {
+        calls++;
+        return delegate.getSourcei(source, param);
+    }
+
+    @Override
+    public void sourcePlay(int source) {
+        calls++;
+        delegate.sourcePlay(source);
+    }
+
+    @Override
+    public void sourceStop(int source) {
+        calls++;
+        delegate.sourceStop(source);
+    }
+
+    @Override
+    public void sourceRewind(int source) {
+        calls++;
+        delegate.sourceRewind(source);
+    }
+
+    @Override
+    public void sourceQueueBuffers(int source, int buffer) {
+        calls++;
+        delegate.sourceQueueBuffers(source, buffer);
+    }
+
+    @Override
+    public int sourceUnqueueBuffers(int source) {
+        calls++;
+        return delegate.sourceUnqueueBuffers(source);
+    }
+}
@@ -0,0 +1,152 @@
+package astropaws.view.audio;
+
+import org.lwjgl.openal.AL;
+import org.lwjgl.openal.ALC;
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.ShortBuffer;
+
+import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.openal.AL11.alSpeedOfSound;
+import static org.lwjgl.openal.ALC10.*;
+
+/**
+ * AlBackend on top of LWJGL's OpenAL bindings.
+ */
+public class OpenAlBackend implements AlBackend {
+
+    private long device;
+    private long context;
+
+    // ---------- DEVICE ----------
+
+    @Override
+    public void open() {
+        device = alcOpenDevice((CharSequence) null);
+        if (device == MemoryUtil.NULL) {
+            throw new IllegalStateException("Failed to open OpenAL device");
+        }
+
+        context = alcCreateContext(device, (int[]) null);
+        alcMakeContextCurrent(context);
+
+        AL.createCapabilities(ALC.createCapabilities(device));
+    }
+
+    @Override
+    public void close() {
+        alcDestroyContext(context);
+        alcCloseDevice(device);
+    }
+
+    @Override
+    public void distanceModel(int model) {
+        alDistanceModel(model);
+    }
+
+    @Override
+    public void dopplerFactor(float factor) {
+        alDopplerFactor(factor);
+    }
+
+    @Override
+    public void speedOfSound(float speed) {
+        alSpeedOfSound(speed);
+    }
+
+    @Override
+    public void suspendContext() {
+        alcSuspendContext(context);
+    }
+
+    @Override
+    public void processContext() {
+        alcProcessContext(context);
+    }
+
+    // ---------- LISTENER ----------
+
+    @Override
+    public void listener3f(int param, float x, float y, float z) {
+        alListener3f(param, x, y, z);
+    }
+
+    @Override
+    public void listenerfv(int param, float[] values) {
+        alListenerfv(param, values);
+    }
+
+    // ---------- BUFFERS ----------
+
+    @Override
+    public int genBuffer() {
+        return alGenBuffers();
+    }
+
+    @Override
+    public void bufferData(int buffer, int format, ShortBuffer data, int sampleRate) {
+        alBufferData(buffer, format, data, sampleRate);
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        alDeleteBuffers(buffer);
+    }
+
+    // ---------- SOURCES ----------
+
+    @Override
+    public int genSource() {
+        return alGenSources();
+    }
+
+    @Override
+    public void deleteSource(int source) {
+        alDeleteSources(source);
+    }
+
+    @Override
+    public void sourcei(int source, int param, int value) {
+        alSourcei(source, param, value);
+    }
+
+    @Override
+    public void sourcef(int source, int param, float value) {
+        alSourcef(source, param, value);
+    }
+
+    @Override
+    public void source3f(int source, int param, float x, float y, float z) {
+        alSource3f(source, param, x, y, z);
+    }
+
+    @Override
+    public int getSourcei(int source, int param) {
+        return alGetSourcei(source, param);
+    }
+
+    @Override
+    public void sourcePlay(int source) {
+        alSourcePlay(source);
+    }
+
+    @Override
+    public void sourceStop(int source) {
+        alSourceStop(source);
+    }
+
+    @Override
+    public void sourceRewind(int source) {
+        alSourceRewind(source);
+    }
+
+    @Override
+    public void sourceQueueBuffers(int source, int buffer) {
+        alSourceQueueBuffers(source, buffer);
+    }
+
+    @Override
+    public int sourceUnqueueBuffers(int source) {
+        return alSourceUnqueueBuffers(source);
+    }
+}
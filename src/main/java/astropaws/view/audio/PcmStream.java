@@ -0,0 +1,25 @@
+package astropaws.view.audio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A source of 16-bit mono PCM that is decoded a chunk at a time, for sounds
+ * too long to keep in one AL buffer. Only the stream refill thread calls it.
+ */
+public interface PcmStream extends Closeable {
+
+    int getSampleRate();
+
+    /**
+     * Fills out (from its position to its limit) with little-endian 16-bit
+     * samples. Returns the number of bytes written, always even, or -1 at the end.
+     */
+    int read(ByteBuffer out) throws IOException;
+
+    /**
+     * Starts again from the first sample.
+     */
+    void rewind() throws IOException;
+}
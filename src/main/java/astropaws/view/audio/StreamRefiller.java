@@ -0,0 +1,60 @@
+package astropaws.view.audio;
+
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background thread that keeps every StreamingSource's chunk ring decoded
+ * ahead, so file reads and decoding never happen on the audio thread.
+ */
+final class StreamRefiller extends Thread {
+
+    // Well under one chunk's playing time (~186 ms), so the ring never runs dry
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    private final CopyOnWriteArrayList<StreamingSource> streams = new CopyOnWriteArrayList<>();
+    private volatile boolean running = true;
+
+    StreamRefiller() {
+        super("AudioStreamRefill");
+        setDaemon(true);
+    }
+
+    void add(StreamingSource stream) {
+        streams.add(stream);
+        LockSupport.unpark(this);
+    }
+
+    void remove(StreamingSource stream) {
+        streams.remove(stream);
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            boolean worked = false;
+            for (StreamingSource stream : streams) {
+                try {
+                    worked |= stream.refill();
+                } catch (IOException e) {
+                    System.err.println("Audio stream read failed: " + e.getMessage());
+                    streams.remove(stream);
+                }
+            }
+            if (!worked) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package astropaws.view.audio;
+
+import org.lwjgl.BufferUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.lwjgl.openal.AL10.*;
+
+/**
+ * A source fed from a PcmStream through a few queued AL buffers, so memory
+ * stays the same however long the track is.
+ *
+ * Two threads share it without locks:
+ * - the refill thread decodes into a ring of reusable direct chunks (refill()),
+ * - the audio thread uploads filled chunks into free AL buffers, queues them
+ *   and unqueues the ones already played (service()).
+ * alBufferData copies, so a chunk is free again as soon as it is uploaded.
+ *
+ * Stop and restart bump a generation number; chunks decoded for an older
+ * generation are skipped and the refill thread rewinds the stream.
+ */
+final class StreamingSource {
+
+    // ~186 ms of 44.1 kHz mono per chunk; CHUNKS decoded ahead + AL_BUFFERS queued
+    static final int CHUNK_BYTES = 16 * 1024;
+    static final int CHUNKS = 3;
+    static final int AL_BUFFERS = 4;
+
+    private final PcmStream pcm;
+    private final int sampleRate;
+
+    // ---------- SHARED ----------
+
+    private final ByteBuffer[] chunks = new ByteBuffer[CHUNKS];
+    private final ShortBuffer[] views = new ShortBuffer[CHUNKS];
+    private final int[] chunkGeneration = new int[CHUNKS];
+
+    // Chunks decoded (refill thread) / taken (audio thread); the ring is full when they differ by CHUNKS
+    private final AtomicLong filled = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private volatile int generation = 0;
+    // Generation whose last sample has been decoded; -1 while still decoding
+    private volatile int endGeneration = -1;
+    private volatile boolean looping;
+
+    // ---------- REFILL THREAD ONLY ----------
+
+    private int refillGeneration = 0;
+    private boolean refillDone = false;
+
+    // ---------- AUDIO THREAD ONLY ----------
+
+    private int source;
+    private final int[] freeBuffers = new int[AL_BUFFERS];
+    private int freeCount = 0;
+    private final int[] allBuffers = new int[AL_BUFFERS];
+    private boolean wantPlaying = false;
+    private boolean started = false;
+    private int underruns = 0;
+
+    StreamingSource(PcmStream pcm, boolean looping) {
+        this.pcm = pcm;
+        this.sampleRate = pcm.getSampleRate();
+        this.looping = looping;
+
+        for (int i = 0; i < CHUNKS; i++) {
+            chunks[i] = BufferUtils.createByteBuffer(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            views[i] = chunks[i].asShortBuffer();
+        }
+    }
+
+    // ---------- REFILL THREAD ----------
+
+    /**
+     * Decodes into every free chunk. Returns true if anything was decoded.
+     */
+    boolean refill() throws IOException {
+        int gen = generation;
+        if (gen != refillGeneration) {
+            pcm.rewind();
+            refillGeneration = gen;
+            refillDone = false;
+        }
+
+        boolean worked = false;
+        while (!refillDone && filled.get() - consumed.get() < CHUNKS) {
+            long f = filled.get();
+            int slot = (int) (f % CHUNKS);
+            ByteBuffer chunk = chunks[slot];
+            chunk.clear();
+
+            int n = pcm.read(chunk);
+            if (n < 0 && looping) {
+                pcm.rewind();
+                n = pcm.read(chunk);
+            }
+            if (n < 0) {
+                refillDone = true;
+                endGeneration = gen;
+                break;
+            }
+
+            ShortBuffer view = views[slot];
+            view.clear();
+            view.limit(n / 2);
+            chunkGeneration[slot] = gen;
+            filled.lazySet(f + 1);
+            worked = true;
+        }
+        return worked;
+    }
+
+    // ---------- AUDIO THREAD ----------
+
+    void open(AlBackend al, int sourceName) {
+        source = sourceName;
+        for (int i = 0; i < AL_BUFFERS; i++) {
+            allBuffers[i] = al.genBuffer();
+            freeBuffers[freeCount++] = allBuffers[i];
+        }
+    }
+
+    /**
+     * Recycles played buffers, queues newly decoded chunks and restarts the
+     * source if it ran dry. Returns true if a chunk was taken, so the refill
+     * thread has work.
+     */
+    boolean service(AlBackend al) {
+        int processed = al.getSourcei(source, AL_BUFFERS_PROCESSED);
+        while (processed-- > 0) {
+            freeBuffers[freeCount++] = al.sourceUnqueueBuffers(source);
+        }
+
+        boolean took = false;
+        int gen = generation;
+        long c = consumed.get();
+        long f = filled.get();
+        while (c < f && freeCount > 0) {
+            int slot = (int) (c % CHUNKS);
+            if (chunkGeneration[slot] == gen && views[slot].limit() > 0) {
+                int buffer = freeBuffers[--freeCount];
+                al.bufferData(buffer, AL_FORMAT_MONO16, views[slot], sampleRate);
+                al.sourceQueueBuffers(source, buffer);
+            }
+            c++;
+            consumed.lazySet(c);
+            took = true;
+        }
+
+        if (wantPlaying && al.getSourcei(source, AL_SOURCE_STATE) != AL_PLAYING) {
+            if (freeCount < AL_BUFFERS) {
+                // Stopped with buffers still queued means it ran dry; stopped at start means primed
+                if (started) underruns++;
+                al.sourcePlay(source);
+                started = true;
+            } else if (endGeneration == gen && consumed.get() == filled.get()) {
+                wantPlaying = false;
+            }
+        }
+        return took;
+    }
+
+    void play(AlBackend al) {
+        if (wantPlaying) return;
+
+        // Played to the end before: start over
+        if (endGeneration == generation && freeCount == AL_BUFFERS && consumed.get() == filled.get()) {
+            generation++;
+        }
+        wantPlaying = true;
+        service(al);
+    }
+
+    /**
+     * Stops and drops everything queued; the next play starts from the beginning.
+     */
+    void stop(AlBackend al) {
+        al.sourceStop(source);
+        int processed = al.getSourcei(source, AL_BUFFERS_PROCESSED);
+        while (processed-- > 0) {
+            freeBuffers[freeCount++] = al.sourceUnqueueBuffers(source);
+        }
+        generation++;
+        wantPlaying = false;
+        started = false;
+    }
+
+    void restart(AlBackend al) {
+        stop(al);
+        play(al);
+    }
+
+    void setLooping(boolean loop) {
+        looping = loop;
+    }
+
+    boolean isPlaying() {
+        return wantPlaying;
+    }
+
+    int getUnderruns() {
+        return underruns;
+    }
+
+    void close(AlBackend al) {
+        al.sourceStop(source);
+        int processed = al.getSourcei(source, AL_BUFFERS_PROCESSED);
+        while (processed-- > 0) {
+            al.sourceUnqueueBuffers(source);
+        }
+        for (int buffer : allBuffers) {
+            al.deleteBuffer(buffer);
+        }
+        try {
+            pcm.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close audio stream: " + e.getMessage());
+        }
+    }
+}
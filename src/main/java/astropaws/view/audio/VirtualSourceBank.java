@@ -0,0 +1,272 @@
+package astropaws.view.audio;
+
+import java.util.Arrays;
+
+/**
+ * Many looping emitters of one sound (e.g. a beacon per target) sharing a
+ * few real AL sources. Emitters are plain Java state; each commit() scores
+ * every emitter set since the last commit by how loud it would be, and the
+ * top N are bound to the real sources:
+ *
+ * <pre>audibility = attenuation(distance) * gain * alignment</pre>
+ *
+ * where attenuation is AL_INVERSE_DISTANCE_CLAMPED with the engine's
+ * reference distance, rolloff and max distance (VoicePool.attenuation).
+ *
+ * A source leaving the set fades out on its last parameters before it is
+ * stopped, and a newly bound one fades in, so nothing clicks. An emitter
+ * that drops out and comes back before its fade-out ends picks up its old
+ * source again. Bound emitters get a small score bonus so two near-equal
+ * emitters don't swap every frame.
+ *
+ * Emitter ids are 0..capacity-1 and chosen by the caller (e.g. target
+ * slots). Game thread only, like AudioEngine; nothing here allocates after
+ * construction.
+ */
+public final class VirtualSourceBank {
+
+    private static final int NONE = -1;
+
+    // Bound emitters must be beaten by this factor before they lose their source
+    private static final float HYSTERESIS = 1.25f;
+
+    private final AudioEngine engine;
+    private final int[] sources;
+    private final long fadeNanos;
+
+    // Per emitter, in pixels like AudioEngine's setters
+    private final float[] x;
+    private final float[] y;
+    private final float[] z;
+    private final float[] gain;
+    private final float[] pitch;
+    private final float[] alignment;
+    private final int[] setFrame;
+    private final int[] boundSource;
+
+    // Emitters set this frame, in call order
+    private final int[] activeList;
+    private int activeCount;
+
+    // Per real source
+    private final int[] sourceEmitter;
+    private final float[] fade;
+    private final boolean[] fadingOut;
+    private final float[] lastGain;
+
+    // This frame's top N
+    private final int[] chosen;
+    private final float[] chosenScore;
+    private int chosenCount;
+
+    private final float[] listener = new float[3];
+    private int frame = 1;
+
+    private int lastActive;
+    private int lastBound;
+
+    /**
+     * Creates the real sources up front (looping, silent) from bufferHandle.
+     *
+     * @param realSources how many emitters can be heard at once
+     * @param capacity    emitter ids are 0..capacity-1
+     * @param fadeMillis  fade-in/out time when an emitter gains or loses a source
+     */
+    public VirtualSourceBank(AudioEngine engine, int bufferHandle, int realSources, int capacity, long fadeMillis) {
+        if (realSources <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid bank: " + realSources + " real sources, capacity " + capacity);
+        }
+
+        this.engine = engine;
+        this.fadeNanos = fadeMillis * 1_000_000L;
+
+        sources = new int[realSources];
+        for (int i = 0; i < realSources; i++) {
+            sources[i] = engine.createSource(bufferHandle, true, 0f);
+        }
+
+        x = new float[capacity];
+        y = new float[capacity];
+        z = new float[capacity];
+        gain = new float[capacity];
+        pitch = new float[capacity];
+        alignment = new float[capacity];
+        setFrame = new int[capacity];
+        boundSource = new int[capacity];
+        activeList = new int[capacity];
+        Arrays.fill(boundSource, NONE);
+
+        sourceEmitter = new int[realSources];
+        Arrays.fill(sourceEmitter, NONE);
+        fade = new float[realSources];
+        fadingOut = new boolean[realSources];
+        lastGain = new float[realSources];
+
+        chosen = new int[realSources];
+        chosenScore = new float[realSources];
+    }
+
+    public void setListenerPosition(float lx, float ly, float lz) {
+        listener[0] = lx;
+        listener[1] = ly;
+        listener[2] = lz;
+    }
+
+    /**
+     * Declares an emitter audible this frame. Emitters not set before the next
+     * commit() are treated as silent and fade out.
+     *
+     * @param alignment 0..1 weight on top of distance and gain, e.g. how
+     *                  closely the ship faces the emitter
+     */
+    public void set(int emitter, float ex, float ey, float ez, float emitterGain, float emitterPitch, float alignment) {
+        x[emitter] = ex;
+        y[emitter] = ey;
+        z[emitter] = ez;
+        gain[emitter] = emitterGain;
+        pitch[emitter] = emitterPitch;
+        this.alignment[emitter] = alignment;
+        if (setFrame[emitter] != frame) {
+            setFrame[emitter] = frame;
+            activeList[activeCount++] = emitter;
+        }
+    }
+
+    /**
+     * Picks the most audible emitters, advances fades by dtNanos and hands the
+     * real sources' parameters to the engine. Call once per frame before
+     * AudioEngine.flush().
+     */
+    public void commit(long dtNanos) {
+        selectLoudest();
+
+        // Sources whose emitter didn't make it fade out on their last parameters
+        for (int s = 0; s < sources.length; s++) {
+            int e = sourceEmitter[s];
+            if (e != NONE) {
+                fadingOut[s] = !isChosen(e);
+            }
+        }
+
+        // Newly chosen emitters take a free source; none free means they wait for a fade-out to finish
+        int bound = 0;
+        for (int i = 0; i < chosenCount; i++) {
+            int e = chosen[i];
+            if (boundSource[e] == NONE) {
+                int s = freeSource();
+                if (s == NONE) continue;
+                sourceEmitter[s] = e;
+                boundSource[e] = s;
+                fade[s] = 0f;
+                fadingOut[s] = false;
+                engine.play(sources[s]);
+            }
+            bound++;
+        }
+        lastBound = bound;
+
+        float step = fadeNanos > 0 ? (float) dtNanos / fadeNanos : 1f;
+        for (int s = 0; s < sources.length; s++) {
+            int e = sourceEmitter[s];
+            if (e == NONE) continue;
+
+            int source = sources[s];
+            if (fadingOut[s]) {
+                fade[s] = Math.max(0f, fade[s] - step);
+                if (fade[s] == 0f) {
+                    engine.setSourceGain(source, 0f);
+                    engine.stop(source);
+                    sourceEmitter[s] = NONE;
+                    boundSource[e] = NONE;
+                    continue;
+                }
+                engine.setSourceGain(source, lastGain[s] * fade[s]);
+                continue;
+            }
+
+            fade[s] = Math.min(1f, fade[s] + step);
+            lastGain[s] = gain[e];
+            engine.setSourcePosition(source, x[e], y[e], z[e]);
+            engine.setSourcePitch(source, pitch[e]);
+            engine.setSourceGain(source, gain[e] * fade[s]);
+        }
+
+        lastActive = activeCount;
+        activeCount = 0;
+        frame++;
+    }
+
+    // Top N of this frame's emitters by audibility, into chosen[0..chosenCount)
+    private void selectLoudest() {
+        int count = 0;
+        for (int a = 0; a < activeCount; a++) {
+            int e = activeList[a];
+
+            float score = audibility(e);
+            if (boundSource[e] != NONE && !fadingOut[boundSource[e]]) {
+                score *= HYSTERESIS;
+            }
+            if (score <= 0f) continue;
+            if (count == chosen.length && score <= chosenScore[count - 1]) continue;
+
+            int i = count < chosen.length ? count++ : count - 1;
+            while (i > 0 && chosenScore[i - 1] < score) {
+                chosen[i] = chosen[i - 1];
+                chosenScore[i] = chosenScore[i - 1];
+                i--;
+            }
+            chosen[i] = e;
+            chosenScore[i] = score;
+        }
+        chosenCount = count;
+    }
+
+    private float audibility(int e) {
+        float dx = (x[e] - listener[0]) * AudioEngine.WORLD_SCALE;
+        float dy = (y[e] - listener[1]) * AudioEngine.WORLD_SCALE;
+        float dz = (z[e] - listener[2]) * AudioEngine.WORLD_SCALE;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return VoicePool.attenuation(distance) * gain[e] * alignment[e];
+    }
+
+    private boolean isChosen(int e) {
+        if (setFrame[e] != frame) return false;
+        for (int i = 0; i < chosenCount; i++) {
+            if (chosen[i] == e) return true;
+        }
+        return false;
+    }
+
+    private int freeSource() {
+        for (int s = 0; s < sources.length; s++) {
+            if (sourceEmitter[s] == NONE) return s;
+        }
+        return NONE;
+    }
+
+    public int getRealSourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * Emitters set for the last committed frame.
+     */
+    public int getActiveEmitters() {
+        return lastActive;
+    }
+
+    /**
+     * Emitters that had a real source (fading in or steady) after the last commit.
+     */
+    public int getBoundEmitters() {
+        return lastBound;
+    }
+
+    /**
+     * Emitters set last frame that weren't heard.
+     */
+    public int getVirtualEmitters() {
+        return lastActive - lastBound;
+    }
+}
@@ -0,0 +1,172 @@
+package astropaws.view.audio;
+
+import static org.lwjgl.openal.AL10.*;
+
+/**
+ * A fixed set of AL sources for fire-and-forget one-shots. All sources are
+ * generated once in open(); playing a sound rebinds a free voice's buffer
+ * instead of generating a new source. When every voice is busy, the voice with
+ * the lowest priority (then the quietest, then the oldest) is stolen, as long
+ * as it isn't more important than the new sound.
+ *
+ * Audio thread only.
+ */
+final class VoicePool {
+
+    // Same distance model parameters as the game's sources (see AudioThread)
+    static final float REFERENCE_DISTANCE = 1.0f;
+    static final float ROLLOFF_FACTOR = 2.5f;
+    static final float MAX_DISTANCE = 20.0f;
+
+    private final AlBackend al;
+
+    private final int[] names;
+    private final boolean[] busy;
+    private final int[] priority;
+    private final float[] gain;
+    private final float[] pos;
+    private final long[] startSeq;
+    private long nextSeq = 0;
+
+    private int voiceCount = 0;
+    private int activeCount = 0;
+
+    private long stolen = 0;
+    private long rejected = 0;
+
+    VoicePool(AlBackend al, int voices) {
+        this.al = al;
+        names = new int[voices];
+        busy = new boolean[voices];
+        priority = new int[voices];
+        gain = new float[voices];
+        pos = new float[voices * 3];
+        startSeq = new long[voices];
+    }
+
+    void open() {
+        for (int i = 0; i < names.length; i++) {
+            int source = al.genSource();
+            al.sourcei(source, AL_LOOPING, AL_FALSE);
+            al.sourcef(source, AL_REFERENCE_DISTANCE, REFERENCE_DISTANCE);
+            al.sourcef(source, AL_ROLLOFF_FACTOR, ROLLOFF_FACTOR);
+            al.sourcef(source, AL_MAX_DISTANCE, MAX_DISTANCE);
+            al.source3f(source, AL_VELOCITY, 0f, 0f, 0f);
+            names[i] = source;
+            voiceCount++;
+        }
+    }
+
+    /**
+     * Starts buffer on a voice. Returns false if every voice is busy with
+     * something more important.
+     */
+    boolean play(int buffer, int soundPriority, float x, float y, float z,
+                 float soundGain, float pitch, float[] listenerPos) {
+        int voice = findFree();
+        if (voice < 0) {
+            reclaimFinished();
+            voice = findFree();
+        }
+        if (voice < 0) {
+            voice = pickVictim(listenerPos);
+            if (priority[voice] > soundPriority) {
+                rejected++;
+                return false;
+            }
+            stolen++;
+        } else {
+            activeCount++;
+        }
+
+        int name = names[voice];
+        // Stopping is required before rebinding the buffer of a stolen voice
+        al.sourceStop(name);
+        al.sourcei(name, AL_BUFFER, buffer);
+        al.source3f(name, AL_POSITION, x, y, z);
+        al.sourcef(name, AL_GAIN, soundGain);
+        al.sourcef(name, AL_PITCH, pitch);
+        al.sourcePlay(name);
+
+        busy[voice] = true;
+        priority[voice] = soundPriority;
+        gain[voice] = soundGain;
+        pos[voice * 3] = x;
+        pos[voice * 3 + 1] = y;
+        pos[voice * 3 + 2] = z;
+        startSeq[voice] = nextSeq++;
+        return true;
+    }
+
+    /**
+     * Returns voices whose sound has finished to the pool.
+     */
+    void reclaimFinished() {
+        for (int i = 0; i < voiceCount; i++) {
+            if (busy[i] && al.getSourcei(names[i], AL_SOURCE_STATE) != AL_PLAYING) {
+                busy[i] = false;
+                activeCount--;
+            }
+        }
+    }
+
+    private int findFree() {
+        for (int i = 0; i < voiceCount; i++) {
+            if (!busy[i]) return i;
+        }
+        return -1;
+    }
+
+    private int pickVictim(float[] listenerPos) {
+        int best = 0;
+        float bestLoudness = loudness(0, listenerPos);
+        for (int i = 1; i < voiceCount; i++) {
+            if (priority[i] > priority[best]) continue;
+
+            float loudness = loudness(i, listenerPos);
+            if (priority[i] < priority[best]
+                    || loudness < bestLoudness
+                    || (loudness == bestLoudness && startSeq[i] < startSeq[best])) {
+                best = i;
+                bestLoudness = loudness;
+            }
+        }
+        return best;
+    }
+
+    private float loudness(int voice, float[] listenerPos) {
+        int p = voice * 3;
+        float dx = pos[p] - listenerPos[0];
+        float dy = pos[p + 1] - listenerPos[1];
+        float dz = pos[p + 2] - listenerPos[2];
+        return gain[voice] * attenuation((float) Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    /**
+     * AL_INVERSE_DISTANCE_CLAMPED gain factor for a distance in world units.
+     */
+    static float attenuation(float distance) {
+        float d = Math.max(REFERENCE_DISTANCE, Math.min(MAX_DISTANCE, distance));
+        return REFERENCE_DISTANCE / (REFERENCE_DISTANCE + ROLLOFF_FACTOR * (d - REFERENCE_DISTANCE));
+    }
+
+    void close() {
+        for (int i = 0; i < voiceCount; i++) {
+            al.deleteSource(names[i]);
+        }
+        voiceCount = 0;
+        activeCount = 0;
+    }
+
+    int getActiveCount() {
+        return activeCount;
+    }
+
+    long getStolen() {
+        return stolen;
+    }
+
+    long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,127 @@
+package astropaws.view.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * The "fmt " chunk of a WAV file, plus conversion of its sample frames to the
+ * 16-bit mono PCM the engine plays. Handles 8/16/24/32-bit integer PCM and
+ * 32/64-bit float, any channel count (downmixed by averaging), and
+ * WAVE_FORMAT_EXTENSIBLE wrappers of those.
+ */
+final class WavFormat {
+
+    static final int RIFF = 0x46464952; // "RIFF"
+    static final int WAVE = 0x45564157; // "WAVE"
+    static final int FMT = 0x20746D66;  // "fmt "
+    static final int DATA = 0x61746164; // "data"
+
+    private static final int FORMAT_PCM = 1;
+    private static final int FORMAT_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+
+    final boolean floatingPoint;
+    final int channels;
+    final int sampleRate;
+    final int bitsPerSample;
+    final int bytesPerSample;
+    final int blockAlign;
+
+    private WavFormat(boolean floatingPoint, int channels, int sampleRate, int bitsPerSample, int blockAlign) {
+        this.floatingPoint = floatingPoint;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+        this.bitsPerSample = bitsPerSample;
+        this.bytesPerSample = (bitsPerSample + 7) / 8;
+        this.blockAlign = blockAlign;
+    }
+
+    /**
+     * Parses a fmt chunk body starting at body's position (little-endian).
+     */
+    static WavFormat parse(ByteBuffer body, int size, String path) throws IOException {
+        if (size < 16) {
+            throw new IOException("WAV fmt chunk too short: " + path);
+        }
+        int p = body.position();
+        int tag = body.getShort(p) & 0xFFFF;
+        int channels = body.getShort(p + 2) & 0xFFFF;
+        int sampleRate = body.getInt(p + 4);
+        int blockAlign = body.getShort(p + 12) & 0xFFFF;
+        int bits = body.getShort(p + 14) & 0xFFFF;
+
+        // Extensible: the real format tag is the first two bytes of the subformat GUID
+        if (tag == FORMAT_EXTENSIBLE && size >= 40) {
+            tag = body.getShort(p + 24) & 0xFFFF;
+        }
+
+        boolean supported = channels > 0 && blockAlign >= channels * ((bits + 7) / 8)
+                && ((tag == FORMAT_PCM && (bits == 8 || bits == 16 || bits == 24 || bits == 32))
+                || (tag == FORMAT_FLOAT && (bits == 32 || bits == 64)));
+        if (!supported) {
+            throw new IOException("Unsupported WAV format in " + path
+                    + ": tag=" + tag + ", " + channels + " channels, " + bits + " bits");
+        }
+        return new WavFormat(tag == FORMAT_FLOAT, channels, sampleRate, bits, blockAlign);
+    }
+
+    /**
+     * True if the data can be handed to AL as-is.
+     */
+    boolean isMono16() {
+        return !floatingPoint && channels == 1 && bitsPerSample == 16 && blockAlign == 2;
+    }
+
+    /**
+     * Converts frames from src (position advances) to mono 16-bit samples in dst.
+     * One pass, no intermediate buffers.
+     */
+    void convert(ByteBuffer src, ShortBuffer dst, int frames) {
+        ByteBuffer in = src.order() == ByteOrder.LITTLE_ENDIAN ? src : src.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int base = in.position();
+
+        for (int frame = 0; frame < frames; frame++) {
+            dst.put(mono16(in, base + frame * blockAlign));
+        }
+
+        src.position(base + frames * blockAlign);
+    }
+
+    /**
+     * The frame starting at byte offset i of a little-endian buffer, as one 16-bit sample.
+     */
+    short mono16(ByteBuffer in, int i) {
+        if (channels == 1) {
+            return (short) sample16(in, i);
+        }
+        int sum = 0;
+        for (int c = 0; c < channels; c++) {
+            sum += sample16(in, i + c * bytesPerSample);
+        }
+        return (short) (sum / channels);
+    }
+
+    private int sample16(ByteBuffer in, int i) {
+        if (floatingPoint) {
+            double v = bitsPerSample == 32 ? in.getFloat(i) : in.getDouble(i);
+            if (v >= 1.0) return Short.MAX_VALUE;
+            if (v <= -1.0) return Short.MIN_VALUE;
+            return (int) (v * 32767.0);
+        }
+
+        switch (bitsPerSample) {
+            case 8:
+                // Unsigned, centred on 128
+                return ((in.get(i) & 0xFF) - 128) << 8;
+            case 16:
+                return in.getShort(i);
+            case 24:
+                // Top 16 bits of the signed 24-bit value
+                return (in.get(i + 1) & 0xFF) | (in.get(i + 2) << 8);
+            default:
+                return in.getInt(i) >> 16;
+        }
+    }
+}
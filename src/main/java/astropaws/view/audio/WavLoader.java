@@ -1,14 +1,30 @@
 package astropaws.view.audio;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import org.lwjgl.BufferUtils;
 
+/**
+ * Loads WAV files as 16-bit mono PCM in a direct buffer, ready for alBufferData.
+ *
+ * RIFF chunks are walked, so LIST/fact chunks are skipped wherever they are.
+ * Files on disk are memory-mapped; resources inside a jar are read once into
+ * a direct buffer. 16-bit mono data is returned as a view of that buffer
+ * without copying; any other format is converted in one pass into a single
+ * new direct buffer.
+ */
 public class WavLoader {
 
     public static class WavData {
@@ -22,47 +38,109 @@ public class WavLoader {
     }
 
     public static WavData load(String path) {
-        try (InputStream is = WavLoader.class
-                .getClassLoader()
-                .getResourceAsStream(path)) {
+        URL url = WavLoader.class.getClassLoader().getResource(path);
+        if (url == null) {
+            throw new RuntimeException("Audio file not found: " + path);
+        }
 
-            if (is == null) {
-                throw new RuntimeException("Audio file not found: " + path);
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return decode(map(Path.of(url.toURI())), path);
             }
+            return decode(readDirect(url), path);
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Failed to load audio: " + path, e);
+        }
+    }
 
-            BufferedInputStream bis = new BufferedInputStream(is);
+    public static WavData load(Path file) {
+        try {
+            return decode(map(file), file.toString());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load audio: " + file, e);
+        }
+    }
 
-            byte[] header = bis.readNBytes(44);
-            ByteBuffer headerBuf = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
 
-            // WAV header checks
-            if (headerBuf.getInt(0) != 0x46464952) { // "RIFF"
-                throw new RuntimeException("Not a valid WAV file");
+    private static ByteBuffer readDirect(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        long length = connection.getContentLengthLong();
+
+        try (InputStream is = connection.getInputStream();
+             ReadableByteChannel channel = Channels.newChannel(is)) {
+
+            ByteBuffer buffer = BufferUtils.createByteBuffer(length > 0 ? (int) length : 64 * 1024);
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    // Unknown length: grow (only happens when the size isn't reported)
+                    ByteBuffer bigger = BufferUtils.createByteBuffer(buffer.capacity() * 2);
+                    buffer.flip();
+                    bigger.put(buffer);
+                    buffer = bigger;
+                }
+                if (channel.read(buffer) < 0) break;
             }
+            buffer.flip();
+            return buffer;
+        }
+    }
 
-            int channels = headerBuf.getShort(22);
-            int sampleRate = headerBuf.getInt(24);
-            int bitsPerSample = headerBuf.getShort(34);
+    /**
+     * Walks the RIFF chunks of file (position 0..limit) and returns its samples.
+     */
+    private static WavData decode(ByteBuffer file, String path) throws IOException {
+        file.order(ByteOrder.LITTLE_ENDIAN);
 
-            if (channels != 1 || bitsPerSample != 16) {
-                throw new RuntimeException(
-                        "Only 16-bit MONO WAV supported. Found: "
-                                + channels + " channels, "
-                                + bitsPerSample + " bits");
-            }
+        if (file.limit() < 12 || file.getInt(0) != WavFormat.RIFF || file.getInt(8) != WavFormat.WAVE) {
+            throw new IOException("Not a valid WAV file: " + path);
+        }
 
-            byte[] audioBytes = bis.readAllBytes();
-            ByteBuffer audioBuffer = BufferUtils.createByteBuffer(audioBytes.length);
-            audioBuffer.put(audioBytes).flip();
+        WavFormat format = null;
+        int pos = 12;
+        while (pos + 8 <= file.limit()) {
+            int id = file.getInt(pos);
+            long size = file.getInt(pos + 4) & 0xFFFFFFFFL;
+            int body = pos + 8;
+
+            if (id == WavFormat.FMT) {
+                file.position(body);
+                format = WavFormat.parse(file, (int) size, path);
+            } else if (id == WavFormat.DATA) {
+                if (format == null) {
+                    throw new IOException("WAV data before fmt chunk: " + path);
+                }
+                // Truncated files: use what is there
+                int length = (int) Math.min(size, file.limit() - body);
+                return samples(file.slice(body, length).order(ByteOrder.LITTLE_ENDIAN), format);
+            }
 
-            ShortBuffer pcm = audioBuffer
-                    .order(ByteOrder.LITTLE_ENDIAN)
-                    .asShortBuffer();
+            // Chunks are padded to an even size
+            long next = body + size + (size & 1);
+            if (next > Integer.MAX_VALUE) break;
+            pos = (int) next;
+        }
+        throw new IOException("WAV file has no data chunk: " + path);
+    }
 
-            return new WavData(pcm, sampleRate);
+    private static WavData samples(ByteBuffer data, WavFormat format) {
+        int frames = data.remaining() / format.blockAlign;
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load audio: " + path, e);
+        if (format.isMono16()) {
+            // Zero-copy: AL reads straight from the mapped/loaded bytes
+            ShortBuffer pcm = data.asShortBuffer();
+            pcm.limit(frames);
+            return new WavData(pcm, format.sampleRate);
         }
+
+        ShortBuffer pcm = BufferUtils.createShortBuffer(frames);
+        format.convert(data, pcm, frames);
+        pcm.flip();
+        return new WavData(pcm, format.sampleRate);
     }
 }
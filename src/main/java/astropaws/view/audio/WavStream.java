@@ -0,0 +1,169 @@
+package astropaws.view.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Streams the sample data of a WAV resource into the caller's direct buffers;
+ * the file is never held in memory as a whole. 16-bit mono is read straight
+ * into the buffer; other formats go through a small scratch buffer and are
+ * converted (see WavFormat).
+ */
+class WavStream implements PcmStream {
+
+    private final String path;
+
+    // Chunk headers and the fmt body; other chunks are skipped through it too
+    private final ByteBuffer header = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+
+    private ReadableByteChannel channel;
+    private WavFormat format;
+    private long dataRemaining;
+
+    // Raw frames before conversion; only used for formats other than 16-bit mono
+    private ByteBuffer scratch;
+
+    WavStream(String path) throws IOException {
+        this.path = path;
+        open();
+    }
+
+    /**
+     * Opens the resource and walks its chunks up to the start of "data", so
+     * LIST/fact chunks before it are skipped rather than played.
+     */
+    private void open() throws IOException {
+        InputStream is = WavStream.class.getClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            throw new IOException("Audio file not found: " + path);
+        }
+        channel = Channels.newChannel(is);
+
+        readFully(12);
+        if (header.getInt(0) != WavFormat.RIFF || header.getInt(8) != WavFormat.WAVE) {
+            throw new IOException("Not a valid WAV file: " + path);
+        }
+
+        format = null;
+        while (true) {
+            readFully(8);
+            int id = header.getInt(0);
+            long size = header.getInt(4) & 0xFFFFFFFFL;
+
+            if (id == WavFormat.DATA) {
+                if (format == null) {
+                    throw new IOException("WAV data before fmt chunk: " + path);
+                }
+                dataRemaining = size;
+                return;
+            }
+
+            if (id == WavFormat.FMT) {
+                int read = (int) Math.min(size, header.capacity());
+                readFully(read);
+                header.position(0);
+                format = WavFormat.parse(header, (int) size, path);
+                skip(size - read + (size & 1));
+            } else {
+                // Chunks are padded to an even size
+                skip(size + (size & 1));
+            }
+        }
+    }
+
+    private void readFully(int bytes) throws IOException {
+        header.clear().limit(bytes);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                throw new IOException("Truncated WAV file: " + path);
+            }
+        }
+    }
+
+    private void skip(long bytes) throws IOException {
+        while (bytes > 0) {
+            int n = (int) Math.min(bytes, header.capacity());
+            readFully(n);
+            bytes -= n;
+        }
+    }
+
+    @Override
+    public int getSampleRate() {
+        return format.sampleRate;
+    }
+
+    @Override
+    public int read(ByteBuffer out) throws IOException {
+        if (dataRemaining <= 0) return -1;
+        if (!format.isMono16()) return readConverted(out);
+
+        // Whole samples only, and never past the data chunk
+        int limit = out.limit();
+        int want = (int) Math.min(out.remaining() & ~1, dataRemaining);
+        out.limit(out.position() + want);
+
+        int total = 0;
+        try {
+            while (out.hasRemaining()) {
+                int n = channel.read(out);
+                if (n < 0) {
+                    dataRemaining = 0;
+                    break;
+                }
+                total += n;
+            }
+        } finally {
+            out.limit(limit);
+        }
+
+        // Drop a dangling odd byte from a truncated file
+        if ((total & 1) != 0) {
+            out.position(out.position() - 1);
+            total--;
+        }
+        dataRemaining -= total;
+        return total > 0 ? total : -1;
+    }
+
+    private int readConverted(ByteBuffer out) throws IOException {
+        int blockAlign = format.blockAlign;
+        int frames = (int) Math.min(out.remaining() / 2, dataRemaining / blockAlign);
+        if (frames == 0) {
+            dataRemaining = 0;
+            return -1;
+        }
+
+        int bytes = frames * blockAlign;
+        if (scratch == null || scratch.capacity() < bytes) {
+            scratch = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        scratch.clear().limit(bytes);
+        while (scratch.hasRemaining()) {
+            if (channel.read(scratch) < 0) break;
+        }
+
+        int got = scratch.position() / blockAlign;
+        for (int i = 0; i < got; i++) {
+            out.putShort(format.mono16(scratch, i * blockAlign));
+        }
+
+        dataRemaining = got < frames ? 0 : dataRemaining - bytes;
+        return got > 0 ? got * 2 : -1;
+    }
+
+    @Override
+    public void rewind() throws IOException {
+        channel.close();
+        open();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package astropaws.view.layers;
+
+import astropaws.view.AssetRegistry;
+import astropaws.view.GamePanel;
+import astropaws.view.RenderSnapshot;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The static space backdrop. Drawn once into the layer cache, then blitted.
+ */
+public class BackgroundLayer extends RenderLayer {
+
+    private final BufferedImage background = AssetRegistry.get(AssetRegistry.Sprite.BACKGROUND);
+
+    public BackgroundLayer() {
+        super(hints(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF,
+                RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY
+        ), true, Transparency.OPAQUE);
+    }
+
+    @Override
+    protected void draw(Graphics2D g, RenderSnapshot snapshot, double alpha) {
+        if (background != null) {
+            g.drawImage(background, 0, 0, null);
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, GamePanel.WIDTH, GamePanel.HEIGHT);
+        }
+    }
+}
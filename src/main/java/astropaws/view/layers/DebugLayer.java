@@ -0,0 +1,50 @@
+package astropaws.view.layers;
+
+import astropaws.view.RenderSnapshot;
+
+import java.awt.*;
+
+/**
+ * Ship→target line and forward vector. Toggle with F3; hidden layers are skipped
+ * before any drawing happens.
+ */
+public class DebugLayer extends RenderLayer {
+
+    private static final int FORWARD_LENGTH = 50;
+
+    private final SpriteLayer sprites;
+
+    public DebugLayer(SpriteLayer sprites) {
+        super(hints(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON
+        ), false, Transparency.TRANSLUCENT);
+        this.sprites = sprites;
+    }
+
+    @Override
+    protected void draw(Graphics2D g2d, RenderSnapshot snapshot, double alpha) {
+        if (snapshot == null || !snapshot.targetVisible) return;
+
+        // Use the pose the sprite layer just drew so the lines stay attached to the ship
+        double shipX = sprites.getShipX();
+        double shipY = sprites.getShipY();
+
+        // Ship → Cat line
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.drawLine(
+                (int) shipX, (int) shipY,
+                (int) snapshot.beaconX, (int) snapshot.beaconY
+        );
+
+        // Ship forward vector (same convention as Ship.getForwardVector())
+        double visualAngle = sprites.getShipAngle() + Math.PI / 2.0;
+        int endX = (int) (shipX + Math.cos(visualAngle) * FORWARD_LENGTH);
+        int endY = (int) (shipY + Math.sin(visualAngle) * FORWARD_LENGTH);
+
+        g2d.setColor(snapshot.dot > 0.995 ? Color.GREEN : Color.RED);
+        g2d.drawLine(
+                (int) shipX, (int) shipY,
+                endX, endY
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package astropaws.view.layers;
+
+import astropaws.view.RenderSnapshot;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/**
+ * One layer of the scene. Each layer brings its own rendering hints, can be
+ * hidden (then it costs nothing), and can opt into caching: a cached layer is
+ * drawn into a VolatileImage once and blitted until invalidate() is called or
+ * the image is lost.
+ */
+public abstract class RenderLayer {
+
+    private final RenderingHints hints;
+    private final boolean cached;
+    private final int transparency;
+
+    private volatile boolean visible = true;
+
+    private VolatileImage cache;
+    private volatile boolean dirty = true;
+
+    protected RenderLayer(RenderingHints hints, boolean cached, int transparency) {
+        this.hints = hints;
+        this.cached = cached;
+        this.transparency = transparency;
+    }
+
+    /**
+     * Draws the layer content at the origin of a width x height surface.
+     */
+    protected abstract void draw(Graphics2D g, RenderSnapshot snapshot, double alpha);
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    // Redraw a cached layer on the next frame
+    public void invalidate() {
+        dirty = true;
+    }
+
+    public void composite(Graphics2D g, RenderSnapshot snapshot, double alpha, int width, int height) {
+        if (!visible) return;
+
+        if (!cached) {
+            g.setRenderingHints(hints);
+            draw(g, snapshot, alpha);
+            return;
+        }
+
+        GraphicsConfiguration gc = g.getDeviceConfiguration();
+        do {
+            int status = cache == null ? VolatileImage.IMAGE_INCOMPATIBLE : cache.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (cache != null) cache.flush();
+                cache = gc.createCompatibleVolatileImage(width, height, transparency);
+                dirty = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                dirty = true;
+            }
+
+            if (dirty) {
+                dirty = false;
+                Graphics2D cg = cache.createGraphics();
+                try {
+                    if (transparency != Transparency.OPAQUE) {
+                        cg.setComposite(AlphaComposite.Clear);
+                        cg.fillRect(0, 0, width, height);
+                        cg.setComposite(AlphaComposite.SrcOver);
+                    }
+                    cg.setRenderingHints(hints);
+                    draw(cg, snapshot, alpha);
+                } finally {
+                    cg.dispose();
+                }
+            }
+
+            g.drawImage(cache, 0, 0, null);
+        } while (cache.contentsLost());
+    }
+
+    public void dispose() {
+        if (cache != null) {
+            cache.flush();
+            cache = null;
+        }
+        dirty = true;
+    }
+
+    protected static RenderingHints hints(Object... keyValuePairs) {
+        RenderingHints hints = new RenderingHints(null);
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            hints.put(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        return hints;
+    }
+}
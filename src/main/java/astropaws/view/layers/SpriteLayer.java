@@ -0,0 +1,114 @@
+package astropaws.view.layers;
+
+import astropaws.view.AssetRegistry;
+import astropaws.view.GamePanel;
+import astropaws.view.RenderSnapshot;
+import astropaws.view.RotationAtlas;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cats and ship. Changes every frame, so it is drawn directly, not cached.
+ */
+public class SpriteLayer extends RenderLayer {
+
+    private static final Stroke FALLBACK_STROKE = new BasicStroke(2);
+    private static final Color FALLBACK_OUTLINE = new Color(100, 149, 237);
+
+    // Ship shape points (triangle pointing up) - fallback if image doesn't load
+    private static final int[] SHIP_X_POINTS = {0, -15, 15};
+    private static final int[] SHIP_Y_POINTS = {-20, 20, 20};
+
+    private final BufferedImage shipImage = AssetRegistry.get(AssetRegistry.Sprite.SHIP);
+    private final BufferedImage catImage = AssetRegistry.get(AssetRegistry.Sprite.CAT);
+    private final RotationAtlas shipAtlas = AssetRegistry.getShipAtlas();
+
+    // Interpolated ship pose for this frame, shared with the debug layer
+    private double shipX;
+    private double shipY;
+    private double shipAngle;
+
+    public SpriteLayer() {
+        super(hints(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON,
+                RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR
+        ), false, Transparency.TRANSLUCENT);
+    }
+
+    @Override
+    protected void draw(Graphics2D g, RenderSnapshot snapshot, double alpha) {
+        if (snapshot == null) return;
+
+        if (catImage != null) {
+            double[] targets = snapshot.targets;
+            int end = snapshot.targetCount * 2;
+            for (int i = 0; i < end; i += 2) {
+                g.drawImage(catImage, (int) targets[i], (int) targets[i + 1], null);
+            }
+        }
+
+        interpolateShip(snapshot, alpha);
+        drawShip(g);
+    }
+
+    private void interpolateShip(RenderSnapshot snapshot, double alpha) {
+        shipX = snapshot.shipX;
+        shipY = snapshot.shipY;
+
+        // A jump of half the screen is a wrap around the edge: don't smear across it
+        if (Math.abs(shipX - snapshot.prevShipX) < GamePanel.WIDTH / 2.0
+                && Math.abs(shipY - snapshot.prevShipY) < GamePanel.HEIGHT / 2.0) {
+            shipX = snapshot.prevShipX + (shipX - snapshot.prevShipX) * alpha;
+            shipY = snapshot.prevShipY + (shipY - snapshot.prevShipY) * alpha;
+        }
+        shipAngle = snapshot.prevShipAngle + (snapshot.shipAngle - snapshot.prevShipAngle) * alpha;
+    }
+
+    private void drawShip(Graphics2D g) {
+        double visualAngle = shipAngle + Math.PI / 2; // +90 degrees to point ship correctly
+
+        // Pre-rotated frame: plain blit, no transform
+        if (shipAtlas != null) {
+            int half = shipAtlas.getSize() / 2;
+            g.drawImage(shipAtlas.frameFor(visualAngle),
+                    (int) Math.round(shipX) - half, (int) Math.round(shipY) - half,
+                    null);
+            return;
+        }
+
+        AffineTransform old = g.getTransform();
+
+        // Translate to ship position and rotate
+        g.translate(shipX, shipY);
+        g.rotate(visualAngle);
+
+        if (shipImage != null) {
+            g.drawImage(shipImage,
+                    -shipImage.getWidth() / 2, -shipImage.getHeight() / 2,
+                    null);
+        } else {
+            // Draw fallback triangle if image doesn't load
+            g.setColor(Color.WHITE);
+            g.fillPolygon(SHIP_X_POINTS, SHIP_Y_POINTS, 3);
+            g.setColor(FALLBACK_OUTLINE);
+            g.setStroke(FALLBACK_STROKE);
+            g.drawPolygon(SHIP_X_POINTS, SHIP_Y_POINTS, 3);
+        }
+
+        g.setTransform(old);
+    }
+
+    public double getShipX() {
+        return shipX;
+    }
+
+    public double getShipY() {
+        return shipY;
+    }
+
+    public double getShipAngle() {
+        return shipAngle;
+    }
+}
@@ -0,0 +1,131 @@
+package astropaws.view.layers;
+
+import astropaws.diagnostics.FrameTiming;
+import astropaws.diagnostics.PhaseTimer;
+import astropaws.view.GamePanel;
+import astropaws.view.RenderSnapshot;
+
+import java.awt.*;
+
+/**
+ * Frame timing overlay: the last PhaseTimer.RECENT_SAMPLES ticks as stacked
+ * bars (spawner, input, physics, audio push), the paint times as a line, and
+ * each phase's p50/p99/max from the last interval. The vertical scale steps
+ * up to fit the slowest sample shown. Hidden until toggled (F4).
+ */
+public class TimingGraphLayer extends RenderLayer {
+
+    private static final int BAR_WIDTH = 2;
+    private static final int GRAPH_WIDTH = PhaseTimer.RECENT_SAMPLES * BAR_WIDTH;
+    private static final int GRAPH_HEIGHT = 80;
+    private static final int MARGIN = 10;
+    private static final int LINE_HEIGHT = 14;
+
+    private static final FrameTiming.Phase[] STACKED = {
+            FrameTiming.Phase.SPAWNER, FrameTiming.Phase.INPUT, FrameTiming.Phase.PHYSICS, FrameTiming.Phase.AUDIO
+    };
+    private static final Color[] COLORS = {
+            Color.ORANGE, Color.CYAN, Color.GREEN, Color.MAGENTA, Color.WHITE
+    };
+    private static final Color BACKDROP = new Color(0, 0, 0, 160);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+
+    // Full-scale heights to choose from, with their labels built once
+    private static final long[] SCALES_NANOS = {
+            250_000L, 500_000L, 1_000_000L, 2_000_000L, 4_000_000L, 8_000_000L, 16_000_000L, 33_000_000L
+    };
+    private static final String[] SCALE_LABELS = {
+            "0.25 ms", "0.5 ms", "1 ms", "2 ms", "4 ms", "8 ms", "16 ms", "33 ms"
+    };
+
+    private final int[] paintX = new int[PhaseTimer.RECENT_SAMPLES];
+    private final int[] paintY = new int[PhaseTimer.RECENT_SAMPLES];
+
+    private volatile FrameTiming timing;
+
+    public TimingGraphLayer() {
+        super(hints(
+                RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON
+        ), false, Transparency.TRANSLUCENT);
+        setVisible(false);
+    }
+
+    public void setFrameTiming(FrameTiming timing) {
+        this.timing = timing;
+    }
+
+    @Override
+    protected void draw(Graphics2D g2d, RenderSnapshot snapshot, double alpha) {
+        FrameTiming source = timing;
+        if (source == null) return;
+
+        FrameTiming.Phase[] phases = FrameTiming.Phase.values();
+        int legendHeight = phases.length * LINE_HEIGHT;
+        int left = MARGIN;
+        int graphBottom = GamePanel.HEIGHT - MARGIN;
+        int graphTop = graphBottom - GRAPH_HEIGHT;
+        int top = graphTop - legendHeight - LINE_HEIGHT;
+
+        g2d.setColor(BACKDROP);
+        g2d.fillRect(left - 4, top - 4, GRAPH_WIDTH + 8, graphBottom - top + 8);
+
+        // Loop phases share a tick index, so they stack; the newest tick is on the right
+        PhaseTimer last = source.get(FrameTiming.Phase.AUDIO);
+        long end = last.getRecordedCount();
+        int samples = (int) Math.min(end, PhaseTimer.RECENT_SAMPLES);
+
+        long slowest = 0;
+        for (int i = 0; i < samples; i++) {
+            long total = 0;
+            for (FrameTiming.Phase phase : STACKED) {
+                total += source.get(phase).getRecent(end - samples + i);
+            }
+            slowest = Math.max(slowest, total);
+        }
+        PhaseTimer paint = source.get(FrameTiming.Phase.PAINT);
+        long paintEnd = paint.getRecordedCount();
+        int paintSamples = (int) Math.min(paintEnd, PhaseTimer.RECENT_SAMPLES);
+        for (int i = 0; i < paintSamples; i++) {
+            slowest = Math.max(slowest, paint.getRecent(paintEnd - paintSamples + i));
+        }
+
+        int scale = 0;
+        while (scale < SCALES_NANOS.length - 1 && SCALES_NANOS[scale] < slowest) {
+            scale++;
+        }
+        double pixelsPerNano = GRAPH_HEIGHT / (double) SCALES_NANOS[scale];
+
+        int offset = PhaseTimer.RECENT_SAMPLES - samples;
+        for (int i = 0; i < samples; i++) {
+            int x = left + (offset + i) * BAR_WIDTH;
+            int y = graphBottom;
+            for (int p = 0; p < STACKED.length; p++) {
+                long nanos = source.get(STACKED[p]).getRecent(end - samples + i);
+                int h = (int) Math.min(GRAPH_HEIGHT, Math.round(nanos * pixelsPerNano));
+                if (h <= 0) continue;
+                g2d.setColor(COLORS[p]);
+                g2d.fillRect(x, y - h, BAR_WIDTH, h);
+                y -= h;
+            }
+        }
+
+        int paintOffset = PhaseTimer.RECENT_SAMPLES - paintSamples;
+        for (int i = 0; i < paintSamples; i++) {
+            long nanos = paint.getRecent(paintEnd - paintSamples + i);
+            paintX[i] = left + (paintOffset + i) * BAR_WIDTH;
+            paintY[i] = graphBottom - (int) Math.min(GRAPH_HEIGHT, Math.round(nanos * pixelsPerNano));
+        }
+        g2d.setColor(COLORS[FrameTiming.Phase.PAINT.ordinal()]);
+        g2d.drawPolyline(paintX, paintY, paintSamples);
+
+        g2d.setColor(Color.GRAY);
+        g2d.drawLine(left, graphTop, left + GRAPH_WIDTH, graphTop);
+
+        g2d.setFont(FONT);
+        g2d.drawString(SCALE_LABELS[scale], left, graphTop - 2);
+        for (int p = 0; p < phases.length; p++) {
+            g2d.setColor(COLORS[p]);
+            g2d.drawString(source.get(phases[p]).getSummary(), left, top + LINE_HEIGHT * (p + 1) - 4);
+        }
+    }
+}